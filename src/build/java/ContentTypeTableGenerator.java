@@ -0,0 +1,383 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Generate <code>org.romainlavabre.request.ContentTypeTables</code> from a mime.types file, run at generate-sources :
+ * <pre>
+ * java ContentTypeTableGenerator.java &lt;mime.types&gt; &lt;output source directory&gt;
+ * </pre>
+ * Each direction is a minimal perfect hash (hash and displace): the first hash selects a seed, the second one the slot.
+ * Keys are packed in a string constant with an offset table, seeds and cross references are stored as chars of string
+ * constants: all of them are loaded from the constant pool, class initialization only allocates the caches of the names
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+public class ContentTypeTableGenerator {
+
+    private static final int SINGLE = 0x8000;
+
+
+    public static void main( final String[] args ) throws IOException {
+        final Map< String, List< String > > extensionsByType = new LinkedHashMap<>();
+        final Map< String, List< String > > typesByExtension = new LinkedHashMap<>();
+
+        for ( final String rawLine : Files.readAllLines( Path.of( args[ 0 ] ), StandardCharsets.UTF_8 ) ) {
+            final String line = rawLine.strip();
+
+            if ( line.isEmpty() || line.startsWith( "#" ) ) {
+                continue;
+            }
+
+            final String[] fields = line.toLowerCase( Locale.ROOT ).split( "\\s+" );
+
+            if ( fields.length < 2 || extensionsByType.containsKey( fields[ 0 ] ) ) {
+                throw new IllegalArgumentException( "Invalid or duplicated line: " + line );
+            }
+
+            final List< String > extensions = List.of( fields ).subList( 1, fields.length );
+
+            extensionsByType.put( fields[ 0 ], extensions );
+
+            for ( final String extension : extensions ) {
+                typesByExtension.computeIfAbsent( extension, key -> new ArrayList<>() ).add( fields[ 0 ] );
+            }
+        }
+
+        // A registered type is preferred to an experimental one (x-), then the file order
+        typesByExtension.values().forEach( types -> types.sort( Comparator.comparing( ContentTypeTableGenerator::isExperimental ) ) );
+
+        final List< String > types      = new ArrayList<>( extensionsByType.keySet() );
+        final List< String > extensions = new ArrayList<>( typesByExtension.keySet() );
+        final int[]          typeSeeds  = new int[ types.size() ];
+        final int[]          extSeeds   = new int[ extensions.size() ];
+        final String[]       typeSlots  = place( types, typeSeeds );
+        final String[]       extSlots   = place( extensions, extSeeds );
+
+        final Map< String, Integer > typeSlotsByType = slotsByKey( typeSlots );
+        final Map< String, Integer > extSlotsByExt   = slotsByKey( extSlots );
+        final List< Integer >        aliases         = new ArrayList<>();
+        final int[]                  aliasOffsets    = new int[ extSlots.length + 1 ];
+
+        for ( int slot = 0; slot < extSlots.length; slot++ ) {
+            final List< String > extensionTypes = typesByExtension.get( extSlots[ slot ] );
+
+            if ( extensionTypes.size() > 1 ) {
+                extensionTypes.forEach( type -> aliases.add( typeSlotsByType.get( type ) ) );
+            }
+
+            aliasOffsets[ slot + 1 ] = aliases.size();
+        }
+
+        final StringBuilder source = new StringBuilder();
+
+        source.append( "package org.romainlavabre.request;\n\n" )
+              .append( "import java.util.List;\n\n" )
+              .append( "/**\n * Generated from mime.types by ContentTypeTableGenerator, do not edit\n */\n" )
+              .append( "final class ContentTypeTables {\n\n" )
+              .append( "    static final int TYPE_COUNT      = " ).append( typeSlots.length ).append( ";\n" )
+              .append( "    static final int EXTENSION_COUNT = " ).append( extSlots.length ).append( ";\n\n" );
+
+        appendKeys( source, "TYPES", "TYPE_OFFSETS", typeSlots );
+        appendChars( source, "TYPE_OFFSETS", offsets( typeSlots ) );
+        appendChars( source, "TYPE_SEEDS", typeSeeds );
+        source.append( "    /**\n     * Slot of the canonical extension of each type\n     */\n" );
+        appendChars( source, "TYPE_EXTENSIONS", Arrays.stream( typeSlots ).mapToInt( type -> extSlotsByExt.get( extensionsByType.get( type ).get( 0 ) ) ).toArray() );
+        appendKeys( source, "EXTENSIONS", "EXTENSION_OFFSETS", extSlots );
+        appendChars( source, "EXTENSION_OFFSETS", offsets( extSlots ) );
+        appendChars( source, "EXTENSION_SEEDS", extSeeds );
+        source.append( "    /**\n     * Slot of the canonical type of each extension\n     */\n" );
+        appendChars( source, "EXTENSION_TYPES", Arrays.stream( extSlots ).mapToInt( extension -> typeSlotsByType.get( typesByExtension.get( extension ).get( 0 ) ) ).toArray() );
+        source.append( "    /**\n     * Type slots of the extensions shared by several types, the canonical one first. Empty range for the others\n     */\n" );
+        appendChars( source, "EXTENSION_ALIASES", aliases.stream().mapToInt( Integer::intValue ).toArray() );
+        appendChars( source, "EXTENSION_ALIAS_OFFSETS", aliasOffsets );
+
+        source.append( "    /**\n     * Keys already read as a String, filled on first use. A race only builds the same String twice\n     */\n" )
+              .append( "    private static final String[] TYPE_NAMES      = new String[ TYPE_COUNT ];\n" )
+              .append( "    private static final String[] EXTENSION_NAMES = new String[ EXTENSION_COUNT ];\n\n\n" )
+              .append( "    private ContentTypeTables() {\n    }\n\n\n" )
+              .append( """
+                                   /**
+                                    * @return Slot of the value in {@link #TYPES}, -1 if unknown. Case-insensitive
+                                    */
+                                   static int typeSlot( final String value, final int from, final int to ) {
+                                       return slot( TYPES, TYPE_OFFSETS, TYPE_SEEDS, value, from, to );
+                                   }
+
+
+                                   /**
+                                    * @return Slot of the value in {@link #EXTENSIONS}, -1 if unknown. Case-insensitive
+                                    */
+                                   static int extensionSlot( final String value, final int from, final int to ) {
+                                       return slot( EXTENSIONS, EXTENSION_OFFSETS, EXTENSION_SEEDS, value, from, to );
+                                   }
+
+
+                                   static String type( final int slot ) {
+                                       return name( TYPE_NAMES, TYPES, TYPE_OFFSETS, slot );
+                                   }
+
+
+                                   static String extension( final int slot ) {
+                                       return name( EXTENSION_NAMES, EXTENSIONS, EXTENSION_OFFSETS, slot );
+                                   }
+
+
+                                   /**
+                                    * @return Canonical extension of the type
+                                    */
+                                   static String typeExtension( final int typeSlot ) {
+                                       return extension( TYPE_EXTENSIONS.charAt( typeSlot ) );
+                                   }
+
+
+                                   /**
+                                    * @return Canonical type of the extension
+                                    */
+                                   static String extensionType( final int extensionSlot ) {
+                                       return type( EXTENSION_TYPES.charAt( extensionSlot ) );
+                                   }
+
+
+                                   /**
+                                    * @return Every type of the extension, the canonical one first
+                                    */
+                                   static List< String > extensionTypes( final int extensionSlot ) {
+                                       final int from = EXTENSION_ALIAS_OFFSETS.charAt( extensionSlot );
+                                       final int to   = EXTENSION_ALIAS_OFFSETS.charAt( extensionSlot + 1 );
+
+                                       if ( from == to ) {
+                                           return List.of( extensionType( extensionSlot ) );
+                                       }
+
+                                       final String[] types = new String[ to - from ];
+
+                                       for ( int i = 0; i < types.length; i++ ) {
+                                           types[ i ] = type( EXTENSION_ALIASES.charAt( from + i ) );
+                                       }
+
+                                       return List.of( types );
+                                   }
+
+
+                                   private static int slot( final String keys, final String offsets, final String seeds, final String value, final int from, final int to ) {
+                                       final int seed   = seeds.charAt( hash( value, from, to, 0 ) %% seeds.length() );
+                                       final int slot   = ( seed & 0x%X ) != 0 ? seed & 0x%X : hash( value, from, to, seed ) %% seeds.length();
+                                       final int start  = offsets.charAt( slot );
+                                       final int length = offsets.charAt( slot + 1 ) - start;
+
+                                       return length == to - from && keys.regionMatches( true, start, value, from, length ) ? slot : -1;
+                                   }
+
+
+                                   private static String name( final String[] names, final String keys, final String offsets, final int slot ) {
+                                       String name = names[ slot ];
+
+                                       if ( name == null ) {
+                                           name          = keys.substring( offsets.charAt( slot ), offsets.charAt( slot + 1 ) );
+                                           names[ slot ] = name;
+                                       }
+
+                                       return name;
+                                   }
+
+
+                                   /**
+                                    * FNV-1a over the ASCII lower case chars
+                                    */
+                                   private static int hash( final String value, final int from, final int to, final int seed ) {
+                                       int hash = seed == 0 ? 0x811C9DC5 : seed;
+
+                                       for ( int i = from; i < to; i++ ) {
+                                           final char c = value.charAt( i );
+
+                                           hash = ( hash ^ ( c >= 'A' && c <= 'Z' ? c + 32 : c ) ) * 16777619;
+                                       }
+
+                                       return hash & 0x7FFFFFFF;
+                                   }
+                               }
+                               """.formatted( SINGLE, SINGLE - 1 ) );
+
+        final Path output = Path.of( args[ 1 ], "org", "romainlavabre", "request", "ContentTypeTables.java" );
+
+        Files.createDirectories( output.getParent() );
+        Files.writeString( output, source.toString(), StandardCharsets.UTF_8 );
+    }
+
+
+    /**
+     * Buckets are placed from the biggest, each one gets the first seed sending all its keys to free slots.
+     * Single key buckets then take the remaining slots directly
+     *
+     * @return Keys by slot
+     */
+    private static String[] place( final List< String > keys, final int[] seeds ) {
+        final int                    size    = keys.size();
+        final List< List< String > > buckets = new ArrayList<>();
+
+        if ( size >= SINGLE ) {
+            throw new IllegalArgumentException( "Too many keys: " + size );
+        }
+
+        for ( int i = 0; i < size; i++ ) {
+            buckets.add( new ArrayList<>() );
+        }
+
+        keys.forEach( key -> buckets.get( hash( key, 0 ) % size ).add( key ) );
+
+        final Integer[] order = new Integer[ size ];
+
+        for ( int i = 0; i < size; i++ ) {
+            order[ i ] = i;
+        }
+
+        Arrays.sort( order, Comparator.comparingInt( ( Integer bucket ) -> buckets.get( bucket ).size() ).reversed() );
+
+        final String[] slots = new String[ size ];
+        int            next  = 0;
+
+        for ( final int bucket : order ) {
+            final List< String > bucketKeys = buckets.get( bucket );
+
+            if ( bucketKeys.size() > 1 ) {
+                seeds[ bucket ] = placeBucket( bucketKeys, slots );
+                continue;
+            }
+
+            if ( bucketKeys.size() == 1 ) {
+                while ( slots[ next ] != null ) {
+                    next++;
+                }
+
+                slots[ next ] = bucketKeys.get( 0 );
+                seeds[ bucket ] = SINGLE | next;
+            }
+        }
+
+        return slots;
+    }
+
+
+    private static int placeBucket( final List< String > bucketKeys, final String[] slots ) {
+        for ( int seed = 1; seed < SINGLE; seed++ ) {
+            final Set< Integer > taken = new HashSet<>();
+
+            for ( final String key : bucketKeys ) {
+                final int slot = hash( key, seed ) % slots.length;
+
+                if ( slots[ slot ] != null || !taken.add( slot ) ) {
+                    break;
+                }
+            }
+
+            if ( taken.size() == bucketKeys.size() ) {
+                for ( final String key : bucketKeys ) {
+                    slots[ hash( key, seed ) % slots.length ] = key;
+                }
+
+                return seed;
+            }
+        }
+
+        throw new IllegalStateException( "No seed found for " + bucketKeys );
+    }
+
+
+    /**
+     * Must match the hash of the generated class
+     */
+    private static int hash( final String value, final int seed ) {
+        int hash = seed == 0 ? 0x811C9DC5 : seed;
+
+        for ( int i = 0; i < value.length(); i++ ) {
+            final char c = value.charAt( i );
+
+            hash = ( hash ^ ( c >= 'A' && c <= 'Z' ? c + 32 : c ) ) * 16777619;
+        }
+
+        return hash & 0x7FFFFFFF;
+    }
+
+
+    private static boolean isExperimental( final String contentType ) {
+        return contentType.startsWith( "x-" ) || contentType.startsWith( "x-", contentType.indexOf( '/' ) + 1 );
+    }
+
+
+    private static Map< String, Integer > slotsByKey( final String[] slots ) {
+        final Map< String, Integer > slotsByKey = new HashMap<>();
+
+        for ( int slot = 0; slot < slots.length; slot++ ) {
+            slotsByKey.put( slots[ slot ], slot );
+        }
+
+        return slotsByKey;
+    }
+
+
+    /**
+     * @return Start of each key in the packed keys, followed by the end of the last one
+     */
+    private static int[] offsets( final String[] slots ) {
+        final int[] offsets = new int[ slots.length + 1 ];
+
+        for ( int slot = 0; slot < slots.length; slot++ ) {
+            offsets[ slot + 1 ] = offsets[ slot ] + slots[ slot ].length();
+        }
+
+        return offsets;
+    }
+
+
+    /**
+     * Keys are concatenated into a single constant, one literal per line
+     */
+    private static void appendKeys( final StringBuilder source, final String name, final String offsetsName, final String[] slots ) {
+        source.append( "    /**\n     * Keys by slot, packed. The slot i spans from " ).append( offsetsName ).append( "[ i ] to " ).append( offsetsName ).append( "[ i + 1 ]\n     */\n" )
+              .append( "    private static final String " ).append( name ).append( " = \"\"" );
+
+        int length = 0;
+
+        for ( final String key : slots ) {
+            if ( !key.matches( "[a-z0-9.+/_-]+" ) ) {
+                throw new IllegalArgumentException( "Unsupported key: " + key );
+            }
+
+            source.append( "\n            + \"" ).append( key ).append( '"' );
+            length += key.length();
+        }
+
+        // Limit of a constant in the class file, and of an offset stored as a char
+        if ( length > 0xFFFF ) {
+            throw new IllegalArgumentException( name + " too long: " + length );
+        }
+
+        source.append( ";\n\n" );
+    }
+
+
+    /**
+     * Values are stored as the chars of a string constant, read with charAt
+     */
+    private static void appendChars( final StringBuilder source, final String name, final int[] values ) {
+        source.append( "    private static final String " ).append( name ).append( " =\n            \"" );
+
+        for ( int i = 0; i < values.length; i++ ) {
+            if ( i > 0 && i % 16 == 0 ) {
+                source.append( "\"\n            + \"" );
+            }
+
+            if ( values[ i ] > 0xFFFF ) {
+                throw new IllegalArgumentException( name + " value too big: " + values[ i ] );
+            }
+
+            // Unicode escapes are translated before lexing, a line feed value would end the literal. Octal escapes are not
+            source.append( values[ i ] < 0x100 ? String.format( "\\%03o", values[ i ] ) : String.format( "\\u%04X", values[ i ] ) );
+        }
+
+        source.append( "\";\n\n" );
+    }
+}
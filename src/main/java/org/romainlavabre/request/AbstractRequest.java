@@ -0,0 +1,493 @@
+package org.romainlavabre.request;
+
+import jakarta.servlet.http.Cookie;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Parameters, query strings, headers and cookies shared by the request implementations,
+ * which only acquire the body and the native request data
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+abstract class AbstractRequest implements Request {
+
+    protected final ParameterMap          parameters;
+    protected final Map< String, String > queryStrings;
+    private final   ConversionCache       conversionCache;
+    private         RequestMetadata       metadata;
+    private         HeaderIndex           headerIndex;
+    private         CookieIndex           cookieIndex;
+    private         QueryStringIndex      queryStringIndex;
+
+
+    AbstractRequest() {
+        this.parameters      = new ParameterMap();
+        this.queryStrings    = new HashMap<>();
+        this.conversionCache = new ConversionCache( ParameterConverterRegistry.getInstance() );
+    }
+
+
+    /**
+     * Called before each access to the parameters, to parse a lazy body
+     */
+    void ensureParsed() {
+    }
+
+
+    /**
+     * @return Headers of the native request
+     */
+    abstract HeaderIndex createHeaderIndex();
+
+
+    /**
+     * @return Request line and connection data of the native request
+     */
+    abstract RequestMetadata createMetadata();
+
+
+    @Override
+    public boolean containsParameter( final String name ) {
+        this.ensureParsed();
+
+        return this.parameters.containsKey( name );
+    }
+
+
+    @Override
+    public Object getParameter( final String name ) {
+        this.ensureParsed();
+
+        return this.parameters.get( name );
+    }
+
+
+    @Override
+    public < T > T getParameter( final String name, final Class< T > type ) {
+        return this.getParameter( name, type, false );
+    }
+
+
+    @Override
+    public < T > T getParameter( final String name, final Class< T > type, final boolean keepRawData ) {
+        this.ensureParsed();
+
+        final Object value = this.parameters.get( name );
+
+        if ( value == null ) {
+            return null;
+        }
+
+        if ( !keepRawData && "".equals( value ) ) {
+            return null;
+        }
+
+        return this.conversionCache.convert( name, value, type );
+    }
+
+
+    @Override
+    public int getInt( final String name, final int defaultValue ) {
+        this.ensureParsed();
+
+        final Object value = this.parameters.get( name );
+
+        return PrimitiveParameters.isAbsent( value ) ? defaultValue : PrimitiveParameters.toInt( value );
+    }
+
+
+    @Override
+    public OptionalInt getOptionalInt( final String name ) {
+        this.ensureParsed();
+
+        final Object value = this.parameters.get( name );
+
+        return PrimitiveParameters.isAbsent( value ) ? OptionalInt.empty() : OptionalInt.of( PrimitiveParameters.toInt( value ) );
+    }
+
+
+    @Override
+    public long getLong( final String name, final long defaultValue ) {
+        this.ensureParsed();
+
+        final Object value = this.parameters.get( name );
+
+        return PrimitiveParameters.isAbsent( value ) ? defaultValue : PrimitiveParameters.toLong( value );
+    }
+
+
+    @Override
+    public OptionalLong getOptionalLong( final String name ) {
+        this.ensureParsed();
+
+        final Object value = this.parameters.get( name );
+
+        return PrimitiveParameters.isAbsent( value ) ? OptionalLong.empty() : OptionalLong.of( PrimitiveParameters.toLong( value ) );
+    }
+
+
+    @Override
+    public double getDouble( final String name, final double defaultValue ) {
+        this.ensureParsed();
+
+        final Object value = this.parameters.get( name );
+
+        return PrimitiveParameters.isAbsent( value ) ? defaultValue : PrimitiveParameters.toDouble( value );
+    }
+
+
+    @Override
+    public OptionalDouble getOptionalDouble( final String name ) {
+        this.ensureParsed();
+
+        final Object value = this.parameters.get( name );
+
+        return PrimitiveParameters.isAbsent( value ) ? OptionalDouble.empty() : OptionalDouble.of( PrimitiveParameters.toDouble( value ) );
+    }
+
+
+    @Override
+    public boolean getBoolean( final String name, final boolean defaultValue ) {
+        this.ensureParsed();
+
+        final Object value = this.parameters.get( name );
+
+        return PrimitiveParameters.isAbsent( value ) ? defaultValue : PrimitiveParameters.toBoolean( value );
+    }
+
+
+    @Override
+    public Optional< Boolean > getOptionalBoolean( final String name ) {
+        this.ensureParsed();
+
+        final Object value = this.parameters.get( name );
+
+        return PrimitiveParameters.isAbsent( value ) ? Optional.empty() : Optional.of( PrimitiveParameters.toBoolean( value ) );
+    }
+
+
+    @Override
+    public < T > T bind( final Class< T > type ) {
+        this.ensureParsed();
+
+        return ParameterBinder.bind( this.parameters, type );
+    }
+
+
+    @Override
+    public void setParameter( final String name, final Object value ) {
+        this.ensureParsed();
+
+        this.parameters.put( name, value );
+    }
+
+
+    @Override
+    public List< Object > getParameters( final String name ) {
+        this.ensureParsed();
+
+        return ( List< Object > ) this.parameters.get( name );
+    }
+
+
+    @Override
+    public Map< String, Object > getAllParameters() {
+        this.ensureParsed();
+
+        return this.parameters;
+    }
+
+
+    @Override
+    public Map< String, Object > getAllParameters( final String prefix ) {
+        this.ensureParsed();
+
+        return new HashMap<>( this.parameters.withPrefix( prefix ) );
+    }
+
+
+    @Override
+    public Map< String, Object > getParameterView( final String prefix ) {
+        this.ensureParsed();
+
+        return this.parameters.withPrefix( prefix );
+    }
+
+
+    @Override
+    public String getFormUrlEncodedParameter( final String parameter ) {
+        this.ensureParsed();
+
+        final Object value = this.parameters.get( parameter );
+
+        if ( value instanceof List ) {
+            final List< ? > values = ( List< ? > ) value;
+
+            return values.isEmpty() || values.get( 0 ) == null ? null : values.get( 0 ).toString();
+        }
+
+        if ( value != null ) {
+            return value.toString();
+        }
+
+        return this.getQueryString( parameter );
+    }
+
+
+    @Override
+    public String getRawQueryString() {
+        return this.getMetadata().getRawQueryString();
+    }
+
+
+    @Override
+    public String getQueryString( final String name ) {
+        if ( this.queryStrings.containsKey( name ) ) {
+            return this.queryStrings.get( name );
+        }
+
+        return this.getQueryStringIndex().get( name );
+    }
+
+
+    @Override
+    public List< String > getQueryStrings( final String name ) {
+        if ( this.queryStrings.containsKey( name ) ) {
+            final String value = this.queryStrings.get( name );
+
+            return value == null ? List.of() : List.of( value );
+        }
+
+        return this.getQueryStringIndex().getAll( name );
+    }
+
+
+    /**
+     * Parsed from the raw query string, the container parameters are never used as they may consume a form body
+     */
+    private QueryStringIndex getQueryStringIndex() {
+        if ( this.queryStringIndex == null ) {
+            this.queryStringIndex = QueryStringIndex.parse( this.getRawQueryString() );
+        }
+
+        return this.queryStringIndex;
+    }
+
+
+    @Override
+    public void setQueryString( final String name, final String value ) {
+        this.queryStrings.put( name, value );
+    }
+
+
+    @Override
+    public UploadedFile getFile( final String name ) {
+        this.ensureParsed();
+
+        final Object value = this.parameters.get( name );
+
+        if ( value instanceof List ) {
+            final List< UploadedFile > uploadedFiles = ( List< UploadedFile > ) value;
+
+            return uploadedFiles.isEmpty() ? null : uploadedFiles.get( 0 );
+        }
+
+        return ( UploadedFile ) value;
+    }
+
+
+    @Override
+    public List< UploadedFile > getFiles( final String name ) {
+        this.ensureParsed();
+
+        final Object value = this.parameters.get( name );
+
+        if ( value instanceof UploadedFile ) {
+            final List< UploadedFile > uploadedFiles = new ArrayList<>();
+            uploadedFiles.add( ( UploadedFile ) value );
+
+            return uploadedFiles;
+        }
+
+        return ( List< UploadedFile > ) value;
+    }
+
+
+    @Override
+    public void setUploadedFile( final String name, final UploadedFile uploadedFile ) {
+        this.ensureParsed();
+
+        this.parameters.put( name, uploadedFile );
+    }
+
+
+    @Override
+    public void addUploadedFile( final String name, final UploadedFile uploadedFile ) {
+        this.ensureParsed();
+
+        if ( this.parameters.get( name ) instanceof List ) {
+            final List< UploadedFile > uploadedFiles = ( List< UploadedFile > ) this.parameters.get( name );
+
+            uploadedFiles.add( uploadedFile );
+
+            return;
+        }
+
+        this.parameters.put( name, uploadedFile );
+    }
+
+
+    @Override
+    public String getClientIp() {
+        return this.getMetadata().getClientIp();
+    }
+
+
+    @Override
+    public String getHeader( final String name ) {
+        return this.getHeaderIndex().get( name );
+    }
+
+
+    @Override
+    public List< String > getHeaders( final String name ) {
+        return this.getHeaderIndex().getAll( name );
+    }
+
+
+    @Override
+    public Long getLongHeader( final String name ) {
+        return this.getHeaderIndex().getLong( name );
+    }
+
+
+    @Override
+    public Instant getDateHeader( final String name ) {
+        return this.getHeaderIndex().getDate( name );
+    }
+
+
+    HeaderIndex getHeaderIndex() {
+        if ( this.headerIndex == null ) {
+            this.headerIndex = this.createHeaderIndex();
+        }
+
+        return this.headerIndex;
+    }
+
+
+    @Override
+    public String getContentType() {
+        return this.getMetadata().getContentType();
+    }
+
+
+    @Override
+    public Integer getPort() {
+        return this.getMetadata().getPort();
+    }
+
+
+    @Override
+    public String getHost() {
+        return this.getMetadata().getHost();
+    }
+
+
+    @Override
+    public String getScheme() {
+        return this.getMetadata().getScheme();
+    }
+
+
+    @Override
+    public String getUri() {
+        return this.getMetadata().getUri();
+    }
+
+
+    @Override
+    public String getBaseUrl() {
+        return this.getMetadata().getBaseUrl();
+    }
+
+
+    @Override
+    public String getMethod() {
+        return this.getMetadata().getMethod();
+    }
+
+
+    @Override
+    public RequestMetadata getMetadata() {
+        if ( this.metadata == null ) {
+            this.metadata = this.createMetadata();
+        }
+
+        return this.metadata;
+    }
+
+
+    /**
+     * Needs the servlet API at runtime, prefer {@link #getCookieValue(String)}. A cookie whose name is rejected by {@link Cookie} is skipped
+     */
+    @Override
+    public Cookie[] getCookies() {
+        final List< Cookie > cookies = new ArrayList<>();
+
+        this.getCookieIndex().forEach( ( name, value ) -> {
+            final Cookie cookie = toCookie( name, value );
+
+            if ( cookie != null ) {
+                cookies.add( cookie );
+            }
+        } );
+
+        return cookies.toArray( new Cookie[ 0 ] );
+    }
+
+
+    /**
+     * Needs the servlet API at runtime, prefer {@link #getCookieValue(String)}
+     *
+     * @return Cookie, null if missing or if its name is rejected by {@link Cookie}
+     */
+    @Override
+    public Cookie getCookie( final String name ) {
+        final String value = this.getCookieValue( name );
+
+        return value == null ? null : toCookie( name, value );
+    }
+
+
+    /**
+     * Read from the raw Cookie header, parsed on first call, without building the container Cookie array
+     */
+    @Override
+    public String getCookieValue( final String name ) {
+        return this.getCookieIndex().get( name );
+    }
+
+
+    CookieIndex getCookieIndex() {
+        if ( this.cookieIndex == null ) {
+            this.cookieIndex = CookieIndex.parse( this.getHeaders( "Cookie" ) );
+        }
+
+        return this.cookieIndex;
+    }
+
+
+    /**
+     * The client may send any cookie name, {@link Cookie} rejects the names that are not a token (<code>a,b</code>, spaces)
+     */
+    static Cookie toCookie( final String name, final String value ) {
+        try {
+            return new Cookie( name, value );
+        } catch ( IllegalArgumentException e ) {
+            return null;
+        }
+    }
+}
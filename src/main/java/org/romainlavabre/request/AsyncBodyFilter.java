@@ -0,0 +1,244 @@
+package org.romainlavabre.request;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * With request.body.async, read the body through a {@link ReadListener} into pooled chunks while no worker thread waits for it.
+ * The request is dispatched again to the controller once the body is complete, {@link RequestImpl} then parses the buffered body.
+ * Bodies of a non retainable {@link BodyDecoder} (multipart) are not buffered, they are streamed to the parts as before.
+ * A body above request.body.max-size is answered with 413.
+ * The filter must be registered for the ASYNC dispatcher type (default of Spring Boot for a {@link OncePerRequestFilter}).
+ * <p>
+ * It runs last, just before the DispatcherServlet: the other filters (security, CORS, tenant) run on the REQUEST dispatch
+ * before any byte of the body is read, and a rejected request is never buffered. The chain is then not called further on that
+ * dispatch, the controller runs on the ASYNC dispatch as for an async controller. A filter ordered after this one would be
+ * skipped on the REQUEST dispatch, the application must not register any
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+@Component
+@Order( Ordered.LOWEST_PRECEDENCE )
+public class AsyncBodyFilter extends OncePerRequestFilter {
+
+    public static final String ATTRIBUTE = AsyncBodyFilter.class.getName() + ".BODY";
+
+    private final RequestConfiguration configuration;
+
+
+    public AsyncBodyFilter( final RequestConfiguration configuration ) {
+        this.configuration = configuration;
+    }
+
+
+    @Override
+    protected void doFilterInternal( final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain ) throws ServletException, IOException {
+        if ( request.getDispatcherType() == DispatcherType.ASYNC ) {
+            this.dispatchBuffered( request, response, filterChain );
+            return;
+        }
+
+        if ( !this.configuration.isAsyncBody() || !request.isAsyncSupported() || !mayHaveBody( request ) ) {
+            filterChain.doFilter( request, response );
+            return;
+        }
+
+        if ( request.getContentLengthLong() > this.configuration.getMaxBodySize() ) {
+            response.sendError( HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE );
+            return;
+        }
+
+        final AsyncContext asyncContext = request.startAsync( request, response );
+        asyncContext.setTimeout( this.configuration.getAsyncTimeout() );
+
+        final ServletInputStream inputStream = request.getInputStream();
+        final BodyReader         bodyReader  = new BodyReader( asyncContext, inputStream, this.configuration.getMaxBodySize() );
+
+        asyncContext.addListener( bodyReader );
+        inputStream.setReadListener( bodyReader );
+    }
+
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+
+    /**
+     * Run the controller with the buffered body, the chunks go back to the pool once the response is completed
+     */
+    private void dispatchBuffered( final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain ) throws ServletException, IOException {
+        final Object bodyBuffer = request.getAttribute( ATTRIBUTE );
+
+        if ( !( bodyBuffer instanceof BodyBuffer ) ) {
+            filterChain.doFilter( request, response );
+            return;
+        }
+
+        try {
+            filterChain.doFilter( request, response );
+        } finally {
+            if ( request.isAsyncStarted() ) {
+                // The controller went async itself
+                request.getAsyncContext().addListener( new Release( request, ( BodyBuffer ) bodyBuffer ) );
+            } else {
+                request.removeAttribute( ATTRIBUTE );
+                ( ( BodyBuffer ) bodyBuffer ).release();
+            }
+        }
+    }
+
+
+    private static boolean mayHaveBody( final HttpServletRequest request ) {
+        // Multipart (and any decoder that streams) reads the input stream itself
+        final BodyDecoder decoder = BodyDecoderRegistry.getInstance().find( request.getContentType() );
+
+        if ( decoder != null && !decoder.isRetainable() ) {
+            return false;
+        }
+
+        final long contentLength = request.getContentLengthLong();
+
+        if ( contentLength >= 0 ) {
+            return contentLength > 0;
+        }
+
+        return request.getHeader( "Transfer-Encoding" ) != null;
+    }
+
+
+    private static class BodyReader implements ReadListener, AsyncListener {
+
+        private final AsyncContext       asyncContext;
+        private final ServletInputStream inputStream;
+        private final BodyBuffer         bodyBuffer;
+        private final long               maxSize;
+        private final AtomicBoolean      done;
+
+
+        BodyReader( final AsyncContext asyncContext, final ServletInputStream inputStream, final long maxSize ) {
+            this.asyncContext = asyncContext;
+            this.inputStream  = inputStream;
+            this.bodyBuffer   = new BodyBuffer();
+            this.maxSize      = maxSize;
+            this.done         = new AtomicBoolean();
+        }
+
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            while ( !this.done.get() && this.inputStream.isReady() && !this.inputStream.isFinished() ) {
+                if ( this.bodyBuffer.readFrom( this.inputStream ) == -1 ) {
+                    return;
+                }
+
+                // Chunked body or lying Content-Length, no more chunk is borrowed past the limit
+                if ( this.bodyBuffer.size() > this.maxSize ) {
+                    this.fail( HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE );
+                    return;
+                }
+            }
+        }
+
+
+        @Override
+        public void onAllDataRead() {
+            if ( !this.done.compareAndSet( false, true ) ) {
+                return;
+            }
+
+            this.asyncContext.getRequest().setAttribute( ATTRIBUTE, this.bodyBuffer );
+            this.asyncContext.dispatch();
+        }
+
+
+        @Override
+        public void onError( final Throwable throwable ) {
+            this.fail( HttpServletResponse.SC_BAD_REQUEST );
+        }
+
+
+        @Override
+        public void onTimeout( final AsyncEvent event ) {
+            this.fail( HttpServletResponse.SC_REQUEST_TIMEOUT );
+        }
+
+
+        @Override
+        public void onComplete( final AsyncEvent event ) {
+        }
+
+
+        @Override
+        public void onError( final AsyncEvent event ) {
+            this.fail( HttpServletResponse.SC_BAD_REQUEST );
+        }
+
+
+        @Override
+        public void onStartAsync( final AsyncEvent event ) {
+        }
+
+
+        private void fail( final int status ) {
+            if ( !this.done.compareAndSet( false, true ) ) {
+                return;
+            }
+
+            this.bodyBuffer.release();
+
+            try {
+                ( ( HttpServletResponse ) this.asyncContext.getResponse() ).sendError( status );
+            } catch ( IOException | IllegalStateException ignored ) {
+                // Client already gone or response committed
+            }
+
+            this.asyncContext.complete();
+        }
+    }
+
+
+    private static class Release implements AsyncListener {
+
+        private final ServletRequest request;
+        private final BodyBuffer     bodyBuffer;
+
+
+        Release( final ServletRequest request, final BodyBuffer bodyBuffer ) {
+            this.request    = request;
+            this.bodyBuffer = bodyBuffer;
+        }
+
+
+        @Override
+        public void onComplete( final AsyncEvent event ) {
+            this.request.removeAttribute( ATTRIBUTE );
+            this.bodyBuffer.release();
+        }
+
+
+        @Override
+        public void onTimeout( final AsyncEvent event ) {
+        }
+
+
+        @Override
+        public void onError( final AsyncEvent event ) {
+        }
+
+
+        @Override
+        public void onStartAsync( final AsyncEvent event ) {
+            event.getAsyncContext().addListener( this );
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.romainlavabre.request;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+/**
+ * Jackson binary formats accepted as body, parsed as JSON is. The data format modules are optional
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+final class BinaryFormats {
+
+    static final String SMILE = "application/x-jackson-smile";
+    static final String CBOR  = "application/cbor";
+
+    private static final boolean SMILE_AVAILABLE = isAvailable( "com.fasterxml.jackson.dataformat.smile.SmileFactory" );
+    private static final boolean CBOR_AVAILABLE  = isAvailable( "com.fasterxml.jackson.dataformat.cbor.CBORFactory" );
+
+
+    private BinaryFormats() {
+    }
+
+
+    /**
+     * @return Shared factory of the format, null if its module is missing
+     */
+    static JsonFactory getFactory( final String mediaType ) {
+        if ( SMILE.equals( mediaType ) && SMILE_AVAILABLE ) {
+            return Smile.FACTORY;
+        }
+
+        if ( CBOR.equals( mediaType ) && CBOR_AVAILABLE ) {
+            return Cbor.FACTORY;
+        }
+
+        return null;
+    }
+
+
+    private static boolean isAvailable( final String className ) {
+        try {
+            Class.forName( className, false, BinaryFormats.class.getClassLoader() );
+            return true;
+        } catch ( ClassNotFoundException | LinkageError e ) {
+            return false;
+        }
+    }
+
+
+    private static final class Smile {
+
+        static final JsonFactory FACTORY = new com.fasterxml.jackson.dataformat.smile.SmileFactory();
+    }
+
+
+    private static final class Cbor {
+
+        static final JsonFactory FACTORY = new com.fasterxml.jackson.dataformat.cbor.CBORFactory();
+    }
+}
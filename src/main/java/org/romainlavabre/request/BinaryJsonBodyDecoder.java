@@ -0,0 +1,44 @@
+package org.romainlavabre.request;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.romainlavabre.request.exception.Http415Exception;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Smile or CBOR body, same structure as JSON with raw binary file contents
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+final class BinaryJsonBodyDecoder implements BodyDecoder {
+
+    private final String mediaType;
+
+
+    BinaryJsonBodyDecoder( final String mediaType ) {
+        this.mediaType = mediaType;
+    }
+
+
+    @Override
+    public Collection< String > getMediaTypes() {
+        return BinaryFormats.CBOR.equals( this.mediaType ) ? List.of( this.mediaType, "+cbor" ) : List.of( this.mediaType );
+    }
+
+
+    @Override
+    public void decode( final BodyContext context ) throws IOException {
+        final JsonFactory jsonFactory = context.getObjectMapperProvider().getBinaryFactory( this.mediaType );
+
+        if ( jsonFactory == null ) {
+            throw new Http415Exception( "UNSUPPORTED_BODY_FORMAT" );
+        }
+
+        try ( final JsonParser parser = context.createParser( jsonFactory ) ) {
+            context.readJson( parser );
+        }
+    }
+}
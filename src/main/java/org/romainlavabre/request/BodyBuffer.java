@@ -0,0 +1,261 @@
+package org.romainlavabre.request;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Raw body kept as fixed size chunks borrowed from a shared pool.
+ * Chunks go back to the pool on {@link #release()}, nothing must reference them afterwards.
+ * A buffer is written and read by one thread at a time, only the release may race (cancelled reactive request)
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+class BodyBuffer {
+
+    static final int CHUNK_SIZE = 8192;
+
+    private static final int             POOL_CAPACITY = 512;
+    private static final Queue< byte[] > POOL          = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger   POOL_SIZE     = new AtomicInteger();
+
+    private final List< byte[] > chunks;
+    private final AtomicBoolean  released;
+    private       int            size;
+
+
+    BodyBuffer() {
+        this.chunks   = new ArrayList<>();
+        this.released = new AtomicBoolean();
+    }
+
+
+    /**
+     * @param inputStream Stream to drain, not closed
+     * @return Buffer holding the whole stream
+     */
+    static BodyBuffer read( final InputStream inputStream ) throws IOException {
+        final BodyBuffer bodyBuffer = new BodyBuffer();
+
+        try {
+            while ( bodyBuffer.readFrom( inputStream ) != -1 ) {
+                // Until the end of stream
+            }
+        } catch ( IOException | RuntimeException e ) {
+            bodyBuffer.release();
+            throw e;
+        }
+
+        return bodyBuffer;
+    }
+
+
+    /**
+     * Read once from the stream into the current chunk
+     *
+     * @return Number of bytes read, -1 at the end of stream
+     */
+    int readFrom( final InputStream inputStream ) throws IOException {
+        final byte[] chunk  = this.writableChunk();
+        final int    offset = this.size % CHUNK_SIZE;
+        final int    read   = inputStream.read( chunk, offset, CHUNK_SIZE - offset );
+
+        if ( read > 0 ) {
+            this.size += read;
+        }
+
+        return read;
+    }
+
+
+    void write( final byte[] bytes, int offset, int length ) {
+        while ( length > 0 ) {
+            final byte[] chunk       = this.writableChunk();
+            final int    chunkOffset = this.size % CHUNK_SIZE;
+            final int    copied      = Math.min( length, CHUNK_SIZE - chunkOffset );
+
+            System.arraycopy( bytes, offset, chunk, chunkOffset, copied );
+
+            this.size += copied;
+            offset += copied;
+            length -= copied;
+        }
+    }
+
+
+    /**
+     * @param byteBuffer Heap or direct buffer, read up to its limit
+     */
+    void write( final ByteBuffer byteBuffer ) {
+        while ( byteBuffer.hasRemaining() ) {
+            final byte[] chunk       = this.writableChunk();
+            final int    chunkOffset = this.size % CHUNK_SIZE;
+            final int    copied      = Math.min( byteBuffer.remaining(), CHUNK_SIZE - chunkOffset );
+
+            byteBuffer.get( chunk, chunkOffset, copied );
+
+            this.size += copied;
+        }
+    }
+
+
+    int size() {
+        return this.size;
+    }
+
+
+    InputStream openStream() {
+        return new ChunkInputStream();
+    }
+
+
+    /**
+     * Jackson detects the UTF encodings itself and reads the chunks directly, other charsets are decoded through a reader
+     */
+    JsonParser createParser( final JsonFactory jsonFactory, final Charset charset ) throws IOException {
+        if ( this.chunks.size() == 1 && ( jsonFactory.canHandleBinaryNatively() || charset.name().startsWith( "UTF-" ) ) ) {
+            return jsonFactory.createParser( this.chunks.get( 0 ), 0, this.size );
+        }
+
+        return createParser( this.openStream(), jsonFactory, charset );
+    }
+
+
+    /**
+     * A binary format (Smile, CBOR) is always read as bytes
+     */
+    static JsonParser createParser( final InputStream inputStream, final JsonFactory jsonFactory, final Charset charset ) throws IOException {
+        if ( !jsonFactory.canHandleBinaryNatively() && !charset.name().startsWith( "UTF-" ) ) {
+            return jsonFactory.createParser( new InputStreamReader( inputStream, charset ) );
+        }
+
+        return jsonFactory.createParser( inputStream );
+    }
+
+
+    byte[] toByteArray() {
+        final byte[] bytes = new byte[ this.size ];
+
+        for ( int i = 0; i < this.chunks.size(); i++ ) {
+            final int offset = i * CHUNK_SIZE;
+
+            System.arraycopy( this.chunks.get( i ), 0, bytes, offset, Math.min( CHUNK_SIZE, this.size - offset ) );
+        }
+
+        return bytes;
+    }
+
+
+    String toString( final Charset charset ) {
+        if ( this.chunks.size() == 1 ) {
+            return new String( this.chunks.get( 0 ), 0, this.size, charset );
+        }
+
+        return new String( this.toByteArray(), charset );
+    }
+
+
+    @Override
+    public String toString() {
+        return this.toString( StandardCharsets.UTF_8 );
+    }
+
+
+    /**
+     * Only the first call gives the chunks back, a chunk is never pooled twice
+     */
+    void release() {
+        if ( !this.released.compareAndSet( false, true ) ) {
+            return;
+        }
+
+        for ( final byte[] chunk : this.chunks ) {
+            if ( POOL_SIZE.incrementAndGet() <= POOL_CAPACITY ) {
+                POOL.offer( chunk );
+            } else {
+                POOL_SIZE.decrementAndGet();
+            }
+        }
+
+        this.chunks.clear();
+        this.size = 0;
+    }
+
+
+    private byte[] writableChunk() {
+        if ( this.size < this.chunks.size() * CHUNK_SIZE ) {
+            return this.chunks.get( this.chunks.size() - 1 );
+        }
+
+        byte[] chunk = POOL.poll();
+
+        if ( chunk == null ) {
+            chunk = new byte[ CHUNK_SIZE ];
+        } else {
+            POOL_SIZE.decrementAndGet();
+        }
+
+        this.chunks.add( chunk );
+
+        return chunk;
+    }
+
+
+    private class ChunkInputStream extends InputStream {
+
+        private int position;
+
+
+        @Override
+        public int read() {
+            if ( this.position >= size ) {
+                return -1;
+            }
+
+            final byte value = chunks.get( this.position / CHUNK_SIZE )[ this.position % CHUNK_SIZE ];
+
+            this.position++;
+
+            return value & 0xFF;
+        }
+
+
+        @Override
+        public int read( final byte[] bytes, final int offset, final int length ) {
+            if ( length == 0 ) {
+                return 0;
+            }
+
+            if ( this.position >= size ) {
+                return -1;
+            }
+
+            final int chunkOffset = this.position % CHUNK_SIZE;
+            final int copied      = Math.min( length, Math.min( CHUNK_SIZE - chunkOffset, size - this.position ) );
+
+            System.arraycopy( chunks.get( this.position / CHUNK_SIZE ), chunkOffset, bytes, offset, copied );
+
+            this.position += copied;
+
+            return copied;
+        }
+
+
+        @Override
+        public int available() {
+            return size - this.position;
+        }
+    }
+}
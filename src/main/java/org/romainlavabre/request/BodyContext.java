@@ -0,0 +1,120 @@
+package org.romainlavabre.request;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Body given to a {@link BodyDecoder} and the parameters it fills
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+public final class BodyContext {
+
+    private final BodySource source;
+    private final BodyParser bodyParser;
+    private final boolean    retainable;
+    private final String     contentType;
+    private final Charset    charset;
+    private final Object     nativeRequest;
+
+
+    BodyContext( final BodySource source, final BodyParser bodyParser, final boolean retainable, final String contentType, final Charset charset, final Object nativeRequest ) {
+        this.source        = source;
+        this.bodyParser    = bodyParser;
+        this.retainable    = retainable;
+        this.contentType   = contentType;
+        this.charset       = charset;
+        this.nativeRequest = nativeRequest;
+    }
+
+
+    /**
+     * @return Content-Type header, with its parameters
+     */
+    public String getContentType() {
+        return this.contentType;
+    }
+
+
+    /**
+     * @return Charset declared for the body, UTF-8 otherwise
+     */
+    public Charset getCharset() {
+        return this.charset;
+    }
+
+
+    /**
+     * @return HttpServletRequest or ServerHttpRequest
+     */
+    public Object getNativeRequest() {
+        return this.nativeRequest;
+    }
+
+
+    public RequestConfiguration getConfiguration() {
+        return this.bodyParser.getConfiguration();
+    }
+
+
+    public ObjectMapperProvider getObjectMapperProvider() {
+        return this.bodyParser.getObjectMapperProvider();
+    }
+
+
+    /**
+     * @return Body stream, already decoded from its Content-Encoding. Read it once
+     */
+    public InputStream getInputStream() throws IOException {
+        return this.source.openStream( this.retainable );
+    }
+
+
+    /**
+     * @return Parser over the body, reading the retained chunks directly when possible
+     */
+    public JsonParser createParser( final JsonFactory jsonFactory ) throws IOException {
+        return this.source.createParser( jsonFactory, this.charset, this.retainable );
+    }
+
+
+    /**
+     * Flatten a JSON-like document as a JSON body is (root object, <code>uploaded_file</code>)
+     *
+     * @param parser Parser positioned before the root token
+     */
+    public void readJson( final JsonParser parser ) throws IOException {
+        this.bodyParser.parseJson( parser );
+    }
+
+
+    public void setParameter( final String name, final Object value ) {
+        this.bodyParser.setParameter( name, value );
+    }
+
+
+    /**
+     * Add a value, a repeated name is collected in a list
+     */
+    public void addParameter( final String name, final Object value ) {
+        this.bodyParser.addParameter( name, value );
+    }
+
+
+    /**
+     * @param content Stream to drain, not closed
+     * @return File kept in memory below request.upload.spool-threshold, in a temporary file deleted with the request otherwise
+     */
+    public UploadedFile createUploadedFile( final InputStream content, final String name, final String contentType ) throws IOException {
+        return this.bodyParser.createUploadedFile( content, name, contentType );
+    }
+
+
+    BodyParser getBodyParser() {
+        return this.bodyParser;
+    }
+}
@@ -0,0 +1,35 @@
+package org.romainlavabre.request;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Decode a body of given media types into the request parameters.
+ * Register implementations with {@link BodyDecoderRegistry#register(BodyDecoder)} or declare them in
+ * <code>META-INF/services/org.romainlavabre.request.BodyDecoder</code>
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+public interface BodyDecoder {
+
+    /**
+     * @return Media types handled, lower case without parameters (<code>application/json</code>),
+     * a structured syntax suffix (<code>+json</code>) matches every type without its own decoder
+     */
+    Collection< String > getMediaTypes();
+
+
+    /**
+     * @return FALSE for bodies too big to be kept in memory (multipart), they are never retained for {@link Request#getBody()}
+     * and a reactive request decodes them on the bounded elastic scheduler
+     */
+    default boolean isRetainable() {
+        return true;
+    }
+
+
+    /**
+     * @param context Body to read and parameters to fill
+     */
+    void decode( BodyContext context ) throws IOException;
+}
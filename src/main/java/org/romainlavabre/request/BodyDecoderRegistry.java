@@ -0,0 +1,87 @@
+package org.romainlavabre.request;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decoders used to parse request bodies, keyed by media type
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+public class BodyDecoderRegistry {
+
+    private static final BodyDecoderRegistry INSTANCE = new BodyDecoderRegistry();
+
+    private final Map< String, BodyDecoder > decoders;
+
+
+    BodyDecoderRegistry() {
+        this.decoders = new ConcurrentHashMap<>();
+
+        this.register( new JsonBodyDecoder() );
+        this.register( new BinaryJsonBodyDecoder( BinaryFormats.SMILE ) );
+        this.register( new BinaryJsonBodyDecoder( BinaryFormats.CBOR ) );
+        this.register( new FormBodyDecoder() );
+        this.register( new MultipartBodyDecoder() );
+
+        for ( final BodyDecoder decoder : ServiceLoader.load( BodyDecoder.class ) ) {
+            this.register( decoder );
+        }
+    }
+
+
+    /**
+     * @return Registry shared by all requests
+     */
+    public static BodyDecoderRegistry getInstance() {
+        return INSTANCE;
+    }
+
+
+    /**
+     * Replace the decoders of the same media types
+     */
+    public void register( final BodyDecoder decoder ) {
+        for ( final String mediaType : decoder.getMediaTypes() ) {
+            this.decoders.put( mediaType.toLowerCase( Locale.ROOT ), decoder );
+        }
+    }
+
+
+    /**
+     * @param contentType Content-Type header, parameters are ignored
+     * @return Decoder of the media type, then of its structured syntax suffix, null if none
+     */
+    public BodyDecoder find( final String contentType ) {
+        if ( contentType == null ) {
+            return null;
+        }
+
+        final String      mediaType = getMediaType( contentType );
+        final BodyDecoder decoder   = this.decoders.get( mediaType );
+
+        if ( decoder != null ) {
+            return decoder;
+        }
+
+        final int suffix = mediaType.lastIndexOf( '+' );
+
+        return suffix == -1 ? null : this.decoders.get( mediaType.substring( suffix ) );
+    }
+
+
+    private static String getMediaType( final String contentType ) {
+        final int    semicolon = contentType.indexOf( ';' );
+        final String mediaType = ( semicolon == -1 ? contentType : contentType.substring( 0, semicolon ) ).trim();
+
+        for ( int i = 0; i < mediaType.length(); i++ ) {
+            if ( Character.isUpperCase( mediaType.charAt( i ) ) ) {
+                return mediaType.toLowerCase( Locale.ROOT );
+            }
+        }
+
+        return mediaType;
+    }
+}
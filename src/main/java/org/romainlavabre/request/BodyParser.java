@@ -0,0 +1,520 @@
+package org.romainlavabre.request;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.romainlavabre.request.exception.Http413Exception;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write a body into the flattened parameters, independent from where the bytes come from (servlet or reactive request)
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+class BodyParser {
+
+    private static final Base64Variant BASE64 = Base64Variants.MIME_NO_LINEFEEDS.withPaddingAllowed();
+
+    private final ParameterMap                parameters;
+    private final RequestConfiguration        configuration;
+    private final ObjectMapperProvider        objectMapperProvider;
+    private final KeyTable                    keyTable;
+    private final List< SpooledUploadedFile > spooledFiles;
+
+
+    BodyParser( final ParameterMap parameters, final RequestConfiguration configuration, final ObjectMapperProvider objectMapperProvider ) {
+        this.parameters           = parameters;
+        this.configuration        = configuration;
+        this.objectMapperProvider = objectMapperProvider;
+        this.keyTable             = KeyTable.getInstance();
+        this.spooledFiles         = new ArrayList<>();
+    }
+
+
+    /**
+     * @param contentType    Content-Type header, may be null
+     * @param defaultCharset Returned when no valid charset is declared
+     */
+    static Charset getCharset( final String contentType, final Charset defaultCharset ) {
+        if ( contentType != null ) {
+            for ( final String parameter : contentType.split( ";" ) ) {
+                final String trimmed = parameter.trim();
+
+                if ( trimmed.regionMatches( true, 0, "charset=", 0, 8 ) ) {
+                    try {
+                        return Charset.forName( trimmed.substring( 8 ).replace( "\"", "" ) );
+                    } catch ( IllegalArgumentException e ) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        return defaultCharset;
+    }
+
+
+    RequestConfiguration getConfiguration() {
+        return this.configuration;
+    }
+
+
+    ObjectMapperProvider getObjectMapperProvider() {
+        return this.objectMapperProvider;
+    }
+
+
+    void parseJson( final JsonParser parser ) throws IOException {
+        this.flattenJson( parser );
+    }
+
+
+    /**
+     * Decode the form pairs straight into the parameters, a repeated name is collected in a list
+     *
+     * @return Number of bytes read
+     */
+    long parseForm( final InputStream inputStream, final Charset charset ) throws IOException {
+        return new FormUrlEncodedDecoder( charset ).decode( inputStream, this::addParameter );
+    }
+
+
+    /**
+     * Stream the parts straight into the parameters, a file moves to a temporary file past the spool threshold
+     *
+     * @param charset Charset of the simple fields without their own
+     * @return Number of bytes read
+     */
+    long parseMultipart( final InputStream inputStream, final String boundary, final Charset charset ) throws IOException {
+        final MultipartListener listener = new MultipartListener( charset );
+
+        try {
+            return new MultipartParser( inputStream, boundary ).parse( listener );
+        } catch ( IOException | RuntimeException e ) {
+            listener.discard();
+            throw e;
+        }
+    }
+
+
+    /**
+     * Add a part already parsed elsewhere (container parts)
+     *
+     * @param filename Null for a simple field
+     */
+    void addPart( final String name, final String filename, final String contentType, final InputStream inputStream, final Charset charset ) throws IOException {
+        if ( filename == null ) {
+            this.addParameter( name, new String( inputStream.readAllBytes(), getCharset( contentType, charset ) ) );
+            return;
+        }
+
+        this.addParameter( name, this.createUploadedFile( inputStream, filename, contentType ) );
+    }
+
+
+    /**
+     * @param inputStream Stream to drain, not closed
+     */
+    UploadedFile createUploadedFile( final InputStream inputStream, final String name, final String contentType ) throws IOException {
+        final SpoolingOutputStream content = new SpoolingOutputStream( this.configuration.getSpoolThreshold(), this.configuration.getSpoolDirectory() );
+
+        try {
+            inputStream.transferTo( content );
+            content.close();
+        } catch ( IOException | RuntimeException e ) {
+            content.discard();
+            throw e;
+        }
+
+        final UploadedFile uploadedFile = this.toUploadedFile( content );
+        uploadedFile.setName( name );
+        uploadedFile.setContentType( contentType );
+
+        return uploadedFile;
+    }
+
+
+    void setParameter( final String name, final Object value ) {
+        this.parameters.put( name, value );
+    }
+
+
+    void addParameter( final String name, final Object value ) {
+        if ( this.parameters.containsKey( name ) ) {
+            this.appendParameter( name, value );
+        } else {
+            this.parameters.put( name, value );
+        }
+    }
+
+
+    /**
+     * Delete the temporary files of the spooled uploads
+     */
+    void release() {
+        this.spooledFiles.forEach( SpooledUploadedFile::delete );
+        this.spooledFiles.clear();
+    }
+
+
+    /**
+     * Consume the token stream once and write each value straight into the flattened parameters.
+     * Objects are flattened up to the configured depth (<code>parent_child</code>), deeper values are materialized as Map or List
+     *
+     * @param parser Parser positioned before the root token
+     */
+    private void flattenJson( final JsonParser parser ) throws IOException {
+        final JsonToken root = parser.nextToken();
+
+        if ( root == null || root == JsonToken.VALUE_NULL ) {
+            return;
+        }
+
+        if ( root != JsonToken.START_OBJECT ) {
+            throw MismatchedInputException.from( parser, HashMap.class, "Request body must be a JSON object" );
+        }
+
+        while ( parser.nextToken() == JsonToken.FIELD_NAME ) {
+            final String inputKey = parser.currentName();
+            parser.nextToken();
+
+            if ( inputKey.equals( "uploaded_file" ) ) {
+                this.flattenUploadedFiles( parser );
+                continue;
+            }
+
+            this.flattenValue( parser, inputKey, 1, false );
+        }
+    }
+
+
+    /**
+     * @param key    Flattened key of the current value
+     * @param depth  Number of segments of the key
+     * @param append TRUE inside an array, values are collected in a list
+     */
+    private void flattenValue( final JsonParser parser, final String key, final int depth, final boolean append ) throws IOException {
+        final JsonToken token = parser.currentToken();
+
+        if ( token == JsonToken.START_OBJECT && depth < this.configuration.getFlattenDepth() ) {
+            while ( parser.nextToken() == JsonToken.FIELD_NAME ) {
+                final String childKey = this.keyTable.compose( key, parser.currentName() );
+                parser.nextToken();
+
+                this.flattenValue( parser, childKey, depth + 1, append );
+            }
+
+            return;
+        }
+
+        if ( token == JsonToken.START_ARRAY && depth < this.configuration.getFlattenDepth() ) {
+            while ( parser.nextToken() != JsonToken.END_ARRAY ) {
+                if ( parser.currentToken() == JsonToken.START_OBJECT ) {
+                    this.flattenValue( parser, key, depth, true );
+                } else {
+                    this.appendParameter( key, this.readValue( parser ) );
+                }
+            }
+
+            return;
+        }
+
+        if ( append ) {
+            this.appendParameter( key, this.readValue( parser ) );
+        } else {
+            this.parameters.put( key, this.readValue( parser ) );
+        }
+    }
+
+
+    private void flattenUploadedFiles( final JsonParser parser ) throws IOException {
+        if ( parser.currentToken() != JsonToken.START_OBJECT ) {
+            parser.skipChildren();
+            return;
+        }
+
+        while ( parser.nextToken() == JsonToken.FIELD_NAME ) {
+            final String    name  = parser.currentName();
+            final JsonToken token = parser.nextToken();
+
+            if ( token == JsonToken.START_OBJECT ) {
+                this.parameters.put( name, this.readUploadedFile( parser ) );
+                continue;
+            }
+
+            if ( token == JsonToken.START_ARRAY ) {
+                while ( parser.nextToken() == JsonToken.START_OBJECT ) {
+                    final UploadedFile uploadedFile = this.readUploadedFile( parser );
+
+                    if ( this.parameters.containsKey( name ) ) {
+                        final List< UploadedFile > list = ( List< UploadedFile > ) this.parameters.get( name );
+                        list.add( uploadedFile );
+
+                        continue;
+                    }
+
+                    final List< UploadedFile > list = new ArrayList<>();
+
+                    list.add( uploadedFile );
+
+                    this.parameters.put( name, list );
+                }
+
+                if ( parser.currentToken() != JsonToken.END_ARRAY ) {
+                    throw MismatchedInputException.from( parser, UploadedFile.class, "Uploaded file must be a JSON object" );
+                }
+
+                continue;
+            }
+
+            parser.skipChildren();
+        }
+    }
+
+
+    private void appendParameter( final String key, final Object value ) {
+        final Object current = this.parameters.get( key );
+
+        if ( current instanceof List ) {
+            ( ( List< Object > ) current ).add( value );
+
+            return;
+        }
+
+        final List< Object > list = new ArrayList<>();
+
+        if ( this.parameters.containsKey( key ) ) {
+            list.add( current );
+        }
+
+        list.add( value );
+
+        this.parameters.put( key, list );
+    }
+
+
+    /**
+     * @return Scalar value read from the current token, nested structures are materialized as Map or List
+     */
+    private Object readValue( final JsonParser parser ) throws IOException {
+        switch ( parser.currentToken() ) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                return this.objectMapperProvider.getReader( Object.class ).readValue( parser );
+        }
+    }
+
+
+    /**
+     * Build the file from the current object, the base64 content is decoded straight from the token stream
+     * and moved to a temporary file once it passes the configured threshold
+     */
+    private UploadedFile readUploadedFile( final JsonParser parser ) throws IOException {
+        final SpoolingOutputStream content          = new SpoolingOutputStream( this.configuration.getSpoolThreshold(), this.configuration.getSpoolDirectory() );
+        String                     name             = null;
+        String                     contentType      = null;
+        String                     contentTypeAlias = null;
+        Map< String, Object >      infos            = null;
+
+        try {
+            while ( parser.nextToken() == JsonToken.FIELD_NAME ) {
+                final String    field = parser.currentName();
+                final JsonToken token = parser.nextToken();
+
+                switch ( field ) {
+                    case "name":
+                        name = token == JsonToken.VALUE_NULL ? null : parser.getText();
+                        break;
+                    case "content":
+                        if ( token == JsonToken.VALUE_STRING || token == JsonToken.VALUE_EMBEDDED_OBJECT ) {
+                            parser.readBinaryValue( BASE64, content );
+                        } else {
+                            parser.skipChildren();
+                        }
+                        break;
+                    case "content-type":
+                        contentType = token == JsonToken.VALUE_NULL ? null : parser.getText();
+                        break;
+                    case "content_type":
+                        contentTypeAlias = token == JsonToken.VALUE_NULL ? null : parser.getText();
+                        break;
+                    case "infos":
+                        final Object value = this.readValue( parser );
+                        infos = value instanceof Map ? ( Map< String, Object > ) value : null;
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+
+            content.close();
+        } catch ( IOException | RuntimeException e ) {
+            content.discard();
+            throw e;
+        }
+
+        final UploadedFile uploadedFile = this.toUploadedFile( content );
+
+        uploadedFile.setName( name );
+        uploadedFile.setContentType( contentType == null ? contentTypeAlias : contentType );
+        uploadedFile.setInfos( infos );
+
+        return uploadedFile;
+    }
+
+
+    /**
+     * @param content Closed stream
+     * @return File holding the content in memory, or its temporary file when spooled (deleted with the request)
+     */
+    UploadedFile toUploadedFile( final SpoolingOutputStream content ) {
+        final UploadedFile uploadedFile;
+
+        if ( content.isSpooled() ) {
+            final SpooledUploadedFile spooledUploadedFile = new SpooledUploadedFile( content.getSpoolFile() );
+            this.spooledFiles.add( spooledUploadedFile );
+            uploadedFile = spooledUploadedFile;
+        } else {
+            uploadedFile = new UploadedFileImpl();
+            uploadedFile.setContent( content.toByteArray() );
+        }
+
+        uploadedFile.setSize( ( int ) content.size() );
+
+        return uploadedFile;
+    }
+
+
+    /**
+     * Route each part while it is read: a simple field is decoded in memory, a file goes through a spooling stream
+     */
+    private class MultipartListener implements MultipartParser.Listener {
+
+        private final Charset               charset;
+        private       String                name;
+        private       String                filename;
+        private       String                contentType;
+        private       FieldOutputStream     field;
+        private       SpoolingOutputStream  file;
+        private       long                  fieldsSize;
+
+
+        MultipartListener( final Charset charset ) {
+            this.charset = charset;
+        }
+
+
+        @Override
+        public OutputStream startPart( final String name, final String filename, final String contentType ) {
+            this.name        = name;
+            this.filename    = filename;
+            this.contentType = contentType;
+
+            if ( name == null ) {
+                return OutputStream.nullOutputStream();
+            }
+
+            if ( filename == null ) {
+                this.field = new FieldOutputStream();
+                return this.field;
+            }
+
+            this.file = new SpoolingOutputStream( BodyParser.this.configuration.getSpoolThreshold(), BodyParser.this.configuration.getSpoolDirectory() );
+
+            return this.file;
+        }
+
+
+        @Override
+        public void endPart() throws IOException {
+            if ( this.field != null ) {
+                BodyParser.this.addParameter( this.name, this.field.toString( getCharset( this.contentType, this.charset ) ) );
+                this.field = null;
+            }
+
+            if ( this.file == null ) {
+                return;
+            }
+
+            final SpoolingOutputStream content = this.file;
+            this.file = null;
+
+            try {
+                content.close();
+            } catch ( IOException e ) {
+                content.discard();
+                throw e;
+            }
+
+            // Browsers send an unnamed empty part for a file input left empty
+            if ( this.filename.isEmpty() && content.size() == 0 ) {
+                content.discard();
+                return;
+            }
+
+            final UploadedFile uploadedFile = BodyParser.this.toUploadedFile( content );
+            uploadedFile.setName( this.filename );
+            uploadedFile.setContentType( this.contentType );
+
+            BodyParser.this.addParameter( this.name, uploadedFile );
+        }
+
+
+        void discard() {
+            if ( this.file != null ) {
+                this.file.discard();
+                this.file = null;
+            }
+        }
+
+
+        /**
+         * Simple fields stay in memory: all the fields of a body are limited to request.body.max-size together
+         */
+        private class FieldOutputStream extends ByteArrayOutputStream {
+
+            @Override
+            public void write( final int b ) {
+                this.count( 1 );
+                super.write( b );
+            }
+
+
+            @Override
+            public void write( final byte[] bytes, final int offset, final int length ) {
+                this.count( length );
+                super.write( bytes, offset, length );
+            }
+
+
+            private void count( final int length ) {
+                MultipartListener.this.fieldsSize += length;
+
+                if ( MultipartListener.this.fieldsSize > BodyParser.this.configuration.getMaxBodySize() ) {
+                    throw new Http413Exception( "BODY_TOO_LARGE" );
+                }
+            }
+        }
+    }
+}
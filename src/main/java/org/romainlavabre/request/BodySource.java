@@ -0,0 +1,24 @@
+package org.romainlavabre.request;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Origin of the body bytes (servlet stream or aggregated buffer), already decoded from its Content-Encoding
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+interface BodySource {
+
+    /**
+     * @param retainable FALSE to stream the body without keeping it
+     */
+    InputStream openStream( boolean retainable ) throws IOException;
+
+
+    JsonParser createParser( JsonFactory jsonFactory, Charset charset, boolean retainable ) throws IOException;
+}
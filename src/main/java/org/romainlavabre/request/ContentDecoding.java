@@ -0,0 +1,213 @@
+package org.romainlavabre.request;
+
+import org.romainlavabre.request.exception.Http400Exception;
+import org.romainlavabre.request.exception.Http413Exception;
+import org.romainlavabre.request.exception.Http415Exception;
+
+import java.io.*;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Inflate a body according to its <code>Content-Encoding</code> while it is read, nothing is buffered beside the decoder window
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+final class ContentDecoding {
+
+    private ContentDecoding() {
+    }
+
+
+    /**
+     * @param contentEncoding Content-Encoding header, encodings are undone from the last one
+     * @param maxSize         Maximum decoded size in bytes, a bigger body raises a 413 (zip bomb)
+     * @return Decoded stream, the same stream without encoding
+     */
+    static InputStream decode( InputStream inputStream, final String contentEncoding, final long maxSize ) throws IOException {
+        if ( !isEncoded( contentEncoding ) ) {
+            return inputStream;
+        }
+
+        final String[] encodings = contentEncoding.split( "," );
+
+        for ( int i = encodings.length - 1; i >= 0; i-- ) {
+            inputStream = decodeOne( inputStream, encodings[ i ].trim().toLowerCase( Locale.ROOT ) );
+        }
+
+        return new LimitedInputStream( inputStream, maxSize );
+    }
+
+
+    /**
+     * @return TRUE if the body must be decoded
+     */
+    static boolean isEncoded( final String contentEncoding ) {
+        return contentEncoding != null && !contentEncoding.isBlank() && !contentEncoding.trim().equalsIgnoreCase( "identity" );
+    }
+
+
+    private static InputStream decodeOne( final InputStream inputStream, final String encoding ) throws IOException {
+        switch ( encoding ) {
+            case "":
+            case "identity":
+                return inputStream;
+            case "gzip":
+            case "x-gzip":
+                try {
+                    return new GZIPInputStream( inputStream, BodyBuffer.CHUNK_SIZE );
+                } catch ( ZipException | EOFException e ) {
+                    throw new Http400Exception( "INVALID_CONTENT_ENCODING" );
+                }
+            case "deflate":
+                return inflate( inputStream );
+            case "zstd":
+                return Zstd.decode( inputStream );
+            default:
+                throw new Http415Exception( "UNSUPPORTED_CONTENT_ENCODING" );
+        }
+    }
+
+
+    /**
+     * Deflate is specified as zlib, some clients send raw deflate: the zlib header tells them apart
+     */
+    private static InputStream inflate( final InputStream inputStream ) throws IOException {
+        final PushbackInputStream pushbackInputStream = new PushbackInputStream( inputStream, 2 );
+        final byte[]              header              = new byte[ 2 ];
+        final int                 read                = pushbackInputStream.readNBytes( header, 0, 2 );
+
+        pushbackInputStream.unread( header, 0, read );
+
+        final boolean zlib = read == 2
+                && ( header[ 0 ] & 0x0F ) == 8
+                && ( ( ( header[ 0 ] & 0xFF ) << 8 ) | ( header[ 1 ] & 0xFF ) ) % 31 == 0;
+
+        return new InflaterInputStream( pushbackInputStream, new Inflater( !zlib ), BodyBuffer.CHUNK_SIZE );
+    }
+
+
+    /**
+     * zstd-jni is optional, the class is only loaded for a zstd body
+     */
+    private static final class Zstd {
+
+        /**
+         * RFC 9659, the window of the zstd content coding is limited to 8 MB: a frame asking for more is rejected before any allocation
+         */
+        static final int WINDOW_LOG_MAX = 23;
+
+        private static final boolean AVAILABLE = isAvailable();
+
+
+        static InputStream decode( final InputStream inputStream ) throws IOException {
+            if ( !AVAILABLE ) {
+                throw new Http415Exception( "UNSUPPORTED_CONTENT_ENCODING" );
+            }
+
+            return new ZstdStream( new com.github.luben.zstd.ZstdInputStream( inputStream ).setLongMax( WINDOW_LOG_MAX ) );
+        }
+
+
+        private static boolean isAvailable() {
+            try {
+                Class.forName( "com.github.luben.zstd.ZstdInputStream", false, ContentDecoding.class.getClassLoader() );
+                return true;
+            } catch ( ClassNotFoundException | LinkageError e ) {
+                return false;
+            }
+        }
+    }
+
+
+    /**
+     * A corrupt or truncated frame, or a window above the limit, is a bad request
+     */
+    private static final class ZstdStream extends FilterInputStream {
+
+        ZstdStream( final InputStream inputStream ) {
+            super( inputStream );
+        }
+
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } catch ( com.github.luben.zstd.ZstdIOException e ) {
+                throw new Http400Exception( "INVALID_CONTENT_ENCODING" );
+            }
+        }
+
+
+        @Override
+        public int read( final byte[] bytes, final int offset, final int length ) throws IOException {
+            try {
+                return super.read( bytes, offset, length );
+            } catch ( com.github.luben.zstd.ZstdIOException e ) {
+                throw new Http400Exception( "INVALID_CONTENT_ENCODING" );
+            }
+        }
+    }
+
+
+    /**
+     * Count the decoded bytes and translate the decoder failures to a bad request
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long maxSize;
+        private       long count;
+
+
+        LimitedInputStream( final InputStream inputStream, final long maxSize ) {
+            super( inputStream );
+            this.maxSize = maxSize;
+        }
+
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[ 1 ];
+
+            return this.read( single, 0, 1 ) == -1 ? -1 : single[ 0 ] & 0xFF;
+        }
+
+
+        @Override
+        public int read( final byte[] bytes, final int offset, final int length ) throws IOException {
+            final int read;
+
+            try {
+                read = super.read( bytes, offset, length );
+            } catch ( ZipException | EOFException e ) {
+                throw new Http400Exception( "INVALID_CONTENT_ENCODING" );
+            }
+
+            if ( read > 0 ) {
+                this.count += read;
+
+                if ( this.count > this.maxSize ) {
+                    throw new Http413Exception( "BODY_TOO_LARGE" );
+                }
+            }
+
+            return read;
+        }
+
+
+        @Override
+        public long skip( final long n ) throws IOException {
+            return Math.max( 0, this.read( new byte[ ( int ) Math.min( n, BodyBuffer.CHUNK_SIZE ) ] ) );
+        }
+
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
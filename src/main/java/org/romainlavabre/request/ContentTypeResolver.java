@@ -1,10 +1,13 @@
 package org.romainlavabre.request;
 
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 /**
+ * Content type and extension tables, generated at build time from src/build/mime.types as minimal perfect hashes (see ContentTypeTables).
+ * The tables are string constants, a name is read out of them on its first lookup.
+ * Lookups are case-insensitive, an extension may be given with its dot and a content type with its parameters
+ *
  * @author Romain Lavabre <romainlavabre98@gmail.com>
  */
 public class ContentTypeResolver {
@@ -786,804 +789,63 @@ public class ContentTypeResolver {
     public static final String VIDEO_X_SMV                                                               = "smv";
     public static final String X_CONFERENCE_X_COOLTALK                                                   = "ice";
 
-    private static final Map< String, String > mapper;
+    /**
+     * @param extension Extension (<code>pdf</code>, <code>.PDF</code>)
+     * @return Canonical content type, null if unknown
+     */
+    public static String getContentType( final String extension ) {
+        final int slot = extensionSlot( extension );
+
+        return slot == -1 ? null : ContentTypeTables.extensionType( slot );
+    }
+
 
-    static {
-        mapper = new HashMap<>();
+    /**
+     * @param extension Extension (<code>pdf</code>, <code>.PDF</code>)
+     * @return Every content type of the extension, the canonical one first. Empty if unknown
+     */
+    public static List< String > getContentTypes( final String extension ) {
+        final int slot = extensionSlot( extension );
 
-        ContentTypeResolver.mapper.put( "application/andrew-inset", "ez" );
-        ContentTypeResolver.mapper.put( "application/applixware", "aw" );
-        ContentTypeResolver.mapper.put( "application/atom+xml", "atom" );
-        ContentTypeResolver.mapper.put( "application/atomcat+xml", "atomcat" );
-        ContentTypeResolver.mapper.put( "application/atomsvc+xml", "atomsvc" );
-        ContentTypeResolver.mapper.put( "application/ccxml+xml", "ccxml" );
-        ContentTypeResolver.mapper.put( "application/cdmi-capability", "cdmia" );
-        ContentTypeResolver.mapper.put( "application/cdmi-container", "cdmic" );
-        ContentTypeResolver.mapper.put( "application/cdmi-domain", "cdmid" );
-        ContentTypeResolver.mapper.put( "application/cdmi-object", "cdmio" );
-        ContentTypeResolver.mapper.put( "application/cdmi-queue", "cdmiq" );
-        ContentTypeResolver.mapper.put( "application/cu-seeme", "cu" );
-        ContentTypeResolver.mapper.put( "application/davmount+xml", "davmount" );
-        ContentTypeResolver.mapper.put( "application/docbook+xml", "dbk" );
-        ContentTypeResolver.mapper.put( "application/dssc+der", "dssc" );
-        ContentTypeResolver.mapper.put( "application/dssc+xml", "xdssc" );
-        ContentTypeResolver.mapper.put( "application/ecmascript", "ecma" );
-        ContentTypeResolver.mapper.put( "application/emma+xml", "emma" );
-        ContentTypeResolver.mapper.put( "application/epub+zip", "epub" );
-        ContentTypeResolver.mapper.put( "application/exi", "exi" );
-        ContentTypeResolver.mapper.put( "application/font-tdpfr", "pfr" );
-        ContentTypeResolver.mapper.put( "application/gml+xml", "gml" );
-        ContentTypeResolver.mapper.put( "application/gpx+xml", "gpx" );
-        ContentTypeResolver.mapper.put( "application/gxf", "gxf" );
-        ContentTypeResolver.mapper.put( "application/hyperstudio", "stk" );
-        ContentTypeResolver.mapper.put( "application/inkml+xml", "ink" );
-        ContentTypeResolver.mapper.put( "application/ipfix", "ipfix" );
-        ContentTypeResolver.mapper.put( "application/java-archive", "jar" );
-        ContentTypeResolver.mapper.put( "application/java-serialized-object", "ser" );
-        ContentTypeResolver.mapper.put( "application/java-vm", "class" );
-        ContentTypeResolver.mapper.put( "application/javascript", "js" );
-        ContentTypeResolver.mapper.put( "application/json", "json" );
-        ContentTypeResolver.mapper.put( "application/jsonml+json", "jsonml" );
-        ContentTypeResolver.mapper.put( "application/lost+xml", "lostxml" );
-        ContentTypeResolver.mapper.put( "application/mac-binhex40", "hqx" );
-        ContentTypeResolver.mapper.put( "application/mac-compactpro", "cpt" );
-        ContentTypeResolver.mapper.put( "application/mads+xml", "mads" );
-        ContentTypeResolver.mapper.put( "application/marc", "mrc" );
-        ContentTypeResolver.mapper.put( "application/marcxml+xml", "mrcx" );
-        ContentTypeResolver.mapper.put( "application/mathematica", "ma" );
-        ContentTypeResolver.mapper.put( "application/mathml+xml", "mathml" );
-        ContentTypeResolver.mapper.put( "application/mbox", "mbox" );
-        ContentTypeResolver.mapper.put( "application/mediaservercontrol+xml", "mscml" );
-        ContentTypeResolver.mapper.put( "application/metalink+xml", "metalink" );
-        ContentTypeResolver.mapper.put( "application/metalink4+xml", "meta4" );
-        ContentTypeResolver.mapper.put( "application/mets+xml", "mets" );
-        ContentTypeResolver.mapper.put( "application/mods+xml", "mods" );
-        ContentTypeResolver.mapper.put( "application/mp21", "m21" );
-        ContentTypeResolver.mapper.put( "application/mp4", "mp4s" );
-        ContentTypeResolver.mapper.put( "application/msword", "doc" );
-        ContentTypeResolver.mapper.put( "application/mxf", "mxf" );
-        ContentTypeResolver.mapper.put( "application/octet-stream", "bin" );
-        ContentTypeResolver.mapper.put( "application/oda", "oda" );
-        ContentTypeResolver.mapper.put( "application/oebps-package+xml", "opf" );
-        ContentTypeResolver.mapper.put( "application/ogg", "ogx" );
-        ContentTypeResolver.mapper.put( "application/omdoc+xml", "omdoc" );
-        ContentTypeResolver.mapper.put( "application/onenote", "onetoc" );
-        ContentTypeResolver.mapper.put( "application/oxps", "oxps" );
-        ContentTypeResolver.mapper.put( "application/patch-ops-error+xml", "xer" );
-        ContentTypeResolver.mapper.put( "application/pdf", "pdf" );
-        ContentTypeResolver.mapper.put( "application/pgp-encrypted", "pgp" );
-        ContentTypeResolver.mapper.put( "application/pgp-signature", "asc" );
-        ContentTypeResolver.mapper.put( "application/pics-rules", "prf" );
-        ContentTypeResolver.mapper.put( "application/pkcs10", "p10" );
-        ContentTypeResolver.mapper.put( "application/pkcs7-mime", "p7m" );
-        ContentTypeResolver.mapper.put( "application/pkcs7-signature", "p7s" );
-        ContentTypeResolver.mapper.put( "application/pkcs8", "p8" );
-        ContentTypeResolver.mapper.put( "application/pkix-attr-cert", "ac" );
-        ContentTypeResolver.mapper.put( "application/pkix-cert", "cer" );
-        ContentTypeResolver.mapper.put( "application/pkix-crl", "crl" );
-        ContentTypeResolver.mapper.put( "application/pkix-pkipath", "pkipath" );
-        ContentTypeResolver.mapper.put( "application/pkixcmp", "pki" );
-        ContentTypeResolver.mapper.put( "application/pls+xml", "pls" );
-        ContentTypeResolver.mapper.put( "application/postscript", "ai" );
-        ContentTypeResolver.mapper.put( "application/prs.cww", "cww" );
-        ContentTypeResolver.mapper.put( "application/pskc+xml", "pskcxml" );
-        ContentTypeResolver.mapper.put( "application/rdf+xml", "rdf" );
-        ContentTypeResolver.mapper.put( "application/reginfo+xml", "rif" );
-        ContentTypeResolver.mapper.put( "application/relax-ng-compact-syntax", "rnc" );
-        ContentTypeResolver.mapper.put( "application/resource-lists+xml", "rl" );
-        ContentTypeResolver.mapper.put( "application/resource-lists-diff+xml", "rld" );
-        ContentTypeResolver.mapper.put( "application/rls-services+xml", "rs" );
-        ContentTypeResolver.mapper.put( "application/rpki-ghostbusters", "gbr" );
-        ContentTypeResolver.mapper.put( "application/rpki-manifest", "mft" );
-        ContentTypeResolver.mapper.put( "application/rpki-roa", "roa" );
-        ContentTypeResolver.mapper.put( "application/rsd+xml", "rsd" );
-        ContentTypeResolver.mapper.put( "application/rss+xml", "rss" );
-        ContentTypeResolver.mapper.put( "application/rtf", "rtf" );
-        ContentTypeResolver.mapper.put( "application/sbml+xml", "sbml" );
-        ContentTypeResolver.mapper.put( "application/scvp-cv-request", "scq" );
-        ContentTypeResolver.mapper.put( "application/scvp-cv-response", "scs" );
-        ContentTypeResolver.mapper.put( "application/scvp-vp-request", "spq" );
-        ContentTypeResolver.mapper.put( "application/scvp-vp-response", "spp" );
-        ContentTypeResolver.mapper.put( "application/sdp", "sdp" );
-        ContentTypeResolver.mapper.put( "application/set-payment-initiation", "setpay" );
-        ContentTypeResolver.mapper.put( "application/set-registration-initiation", "setreg" );
-        ContentTypeResolver.mapper.put( "application/shf+xml", "shf" );
-        ContentTypeResolver.mapper.put( "application/smil+xml", "smi" );
-        ContentTypeResolver.mapper.put( "application/sparql-query", "rq" );
-        ContentTypeResolver.mapper.put( "application/sparql-results+xml", "srx" );
-        ContentTypeResolver.mapper.put( "application/srgs", "gram" );
-        ContentTypeResolver.mapper.put( "application/srgs+xml", "grxml" );
-        ContentTypeResolver.mapper.put( "application/sru+xml", "sru" );
-        ContentTypeResolver.mapper.put( "application/ssdl+xml", "ssdl" );
-        ContentTypeResolver.mapper.put( "application/ssml+xml", "ssml" );
-        ContentTypeResolver.mapper.put( "application/tei+xml", "tei" );
-        ContentTypeResolver.mapper.put( "application/thraud+xml", "tfi" );
-        ContentTypeResolver.mapper.put( "application/timestamped-data", "tsd" );
-        ContentTypeResolver.mapper.put( "application/vnd.3gpp.pic-bw-large", "plb" );
-        ContentTypeResolver.mapper.put( "application/vnd.3gpp.pic-bw-small", "psb" );
-        ContentTypeResolver.mapper.put( "application/vnd.3gpp.pic-bw-var", "pvb" );
-        ContentTypeResolver.mapper.put( "application/vnd.3gpp2.tcap", "tcap" );
-        ContentTypeResolver.mapper.put( "application/vnd.3m.post-it-notes", "pwn" );
-        ContentTypeResolver.mapper.put( "application/vnd.accpac.simply.aso", "aso" );
-        ContentTypeResolver.mapper.put( "application/vnd.accpac.simply.imp", "imp" );
-        ContentTypeResolver.mapper.put( "application/vnd.acucobol", "acu" );
-        ContentTypeResolver.mapper.put( "application/vnd.acucorp", "atc" );
-        ContentTypeResolver.mapper.put( "application/vnd.adobe.air-application-installer-package+zip", "air" );
-        ContentTypeResolver.mapper.put( "application/vnd.adobe.formscentral.fcdt", "fcdt" );
-        ContentTypeResolver.mapper.put( "application/vnd.adobe.fxp", "fxp" );
-        ContentTypeResolver.mapper.put( "application/vnd.adobe.xdp+xml", "xdp" );
-        ContentTypeResolver.mapper.put( "application/vnd.adobe.xfdf", "xfdf" );
-        ContentTypeResolver.mapper.put( "application/vnd.ahead.space", "ahead" );
-        ContentTypeResolver.mapper.put( "application/vnd.airzip.filesecure.azf", "azf" );
-        ContentTypeResolver.mapper.put( "application/vnd.airzip.filesecure.azs", "azs" );
-        ContentTypeResolver.mapper.put( "application/vnd.amazon.ebook", "azw" );
-        ContentTypeResolver.mapper.put( "application/vnd.americandynamics.acc", "acc" );
-        ContentTypeResolver.mapper.put( "application/vnd.amiga.ami", "ami" );
-        ContentTypeResolver.mapper.put( "application/vnd.android.package-archive", "apk" );
-        ContentTypeResolver.mapper.put( "application/vnd.anser-web-certificate-issue-initiation", "cii" );
-        ContentTypeResolver.mapper.put( "application/vnd.anser-web-funds-transfer-initiation", "fti" );
-        ContentTypeResolver.mapper.put( "application/vnd.antix.game-component", "atx" );
-        ContentTypeResolver.mapper.put( "application/vnd.apple.installer+xml", "mpkg" );
-        ContentTypeResolver.mapper.put( "application/vnd.apple.mpegurl", "m3u8" );
-        ContentTypeResolver.mapper.put( "application/vnd.aristanetworks.swi", "swi" );
-        ContentTypeResolver.mapper.put( "application/vnd.astraea-software.iota", "iota" );
-        ContentTypeResolver.mapper.put( "application/vnd.audiograph", "aep" );
-        ContentTypeResolver.mapper.put( "application/vnd.blueice.multipass", "mpm" );
-        ContentTypeResolver.mapper.put( "application/vnd.bmi", "bmi" );
-        ContentTypeResolver.mapper.put( "application/vnd.businessobjects", "rep" );
-        ContentTypeResolver.mapper.put( "application/vnd.chemdraw+xml", "cdxml" );
-        ContentTypeResolver.mapper.put( "application/vnd.chipnuts.karaoke-mmd", "mmd" );
-        ContentTypeResolver.mapper.put( "application/vnd.cinderella", "cdy" );
-        ContentTypeResolver.mapper.put( "application/vnd.claymore", "cla" );
-        ContentTypeResolver.mapper.put( "application/vnd.cloanto.rp9", "rp9" );
-        ContentTypeResolver.mapper.put( "application/vnd.clonk.c4group", "c4g" );
-        ContentTypeResolver.mapper.put( "application/vnd.cluetrust.cartomobile-config", "c11amc" );
-        ContentTypeResolver.mapper.put( "application/vnd.cluetrust.cartomobile-config-pkg", "c11amz" );
-        ContentTypeResolver.mapper.put( "application/vnd.commonspace", "csp" );
-        ContentTypeResolver.mapper.put( "application/vnd.contact.cmsg", "cdbcmsg" );
-        ContentTypeResolver.mapper.put( "application/vnd.cosmocaller", "cmc" );
-        ContentTypeResolver.mapper.put( "application/vnd.crick.clicker", "clkx" );
-        ContentTypeResolver.mapper.put( "application/vnd.crick.clicker.keyboard", "clkk" );
-        ContentTypeResolver.mapper.put( "application/vnd.crick.clicker.palette", "clkp" );
-        ContentTypeResolver.mapper.put( "application/vnd.crick.clicker.template", "clkt" );
-        ContentTypeResolver.mapper.put( "application/vnd.crick.clicker.wordbank", "clkw" );
-        ContentTypeResolver.mapper.put( "application/vnd.criticaltools.wbs+xml", "wbs" );
-        ContentTypeResolver.mapper.put( "application/vnd.ctc-posml", "pml" );
-        ContentTypeResolver.mapper.put( "application/vnd.cups-ppd", "ppd" );
-        ContentTypeResolver.mapper.put( "application/vnd.curl.car", "car" );
-        ContentTypeResolver.mapper.put( "application/vnd.curl.pcurl", "pcurl" );
-        ContentTypeResolver.mapper.put( "application/vnd.dart", "dart" );
-        ContentTypeResolver.mapper.put( "application/vnd.data-vision.rdz", "rdz" );
-        ContentTypeResolver.mapper.put( "application/vnd.dece.data", "uvf" );
-        ContentTypeResolver.mapper.put( "application/vnd.dece.ttml+xml", "uvt" );
-        ContentTypeResolver.mapper.put( "application/vnd.dece.unspecified", "uvx" );
-        ContentTypeResolver.mapper.put( "application/vnd.dece.zip", "uvz" );
-        ContentTypeResolver.mapper.put( "application/vnd.denovo.fcselayout-link", "fe_launch" );
-        ContentTypeResolver.mapper.put( "application/vnd.dna", "dna" );
-        ContentTypeResolver.mapper.put( "application/vnd.dolby.mlp", "mlp" );
-        ContentTypeResolver.mapper.put( "application/vnd.dpgraph", "dpg" );
-        ContentTypeResolver.mapper.put( "application/vnd.dreamfactory", "dfac" );
-        ContentTypeResolver.mapper.put( "application/vnd.ds-keypoint", "kpxx" );
-        ContentTypeResolver.mapper.put( "application/vnd.dvb.ait", "ait" );
-        ContentTypeResolver.mapper.put( "application/vnd.dvb.service", "svc" );
-        ContentTypeResolver.mapper.put( "application/vnd.dynageo", "geo" );
-        ContentTypeResolver.mapper.put( "application/vnd.ecowin.chart", "mag" );
-        ContentTypeResolver.mapper.put( "application/vnd.enliven", "nml" );
-        ContentTypeResolver.mapper.put( "application/vnd.epson.esf", "esf" );
-        ContentTypeResolver.mapper.put( "application/vnd.epson.msf", "msf" );
-        ContentTypeResolver.mapper.put( "application/vnd.epson.quickanime", "qam" );
-        ContentTypeResolver.mapper.put( "application/vnd.epson.salt", "slt" );
-        ContentTypeResolver.mapper.put( "application/vnd.epson.ssf", "ssf" );
-        ContentTypeResolver.mapper.put( "application/vnd.eszigno3+xml", "es3" );
-        ContentTypeResolver.mapper.put( "application/vnd.ezpix-album", "ez2" );
-        ContentTypeResolver.mapper.put( "application/vnd.ezpix-package", "ez3" );
-        ContentTypeResolver.mapper.put( "application/vnd.fdf", "fdf" );
-        ContentTypeResolver.mapper.put( "application/vnd.fdsn.mseed", "mseed" );
-        ContentTypeResolver.mapper.put( "application/vnd.fdsn.seed", "seed" );
-        ContentTypeResolver.mapper.put( "application/vnd.flographit", "gph" );
-        ContentTypeResolver.mapper.put( "application/vnd.fluxtime.clip", "ftc" );
-        ContentTypeResolver.mapper.put( "application/vnd.framemaker", "fm" );
-        ContentTypeResolver.mapper.put( "application/vnd.frogans.fnc", "fnc" );
-        ContentTypeResolver.mapper.put( "application/vnd.frogans.ltf", "ltf" );
-        ContentTypeResolver.mapper.put( "application/vnd.fsc.weblaunch", "fsc" );
-        ContentTypeResolver.mapper.put( "application/vnd.fujitsu.oasys", "oas" );
-        ContentTypeResolver.mapper.put( "application/vnd.fujitsu.oasys2", "oa2" );
-        ContentTypeResolver.mapper.put( "application/vnd.fujitsu.oasys3", "oa3" );
-        ContentTypeResolver.mapper.put( "application/vnd.fujitsu.oasysgp", "fg5" );
-        ContentTypeResolver.mapper.put( "application/vnd.fujitsu.oasysprs", "bh2" );
-        ContentTypeResolver.mapper.put( "application/vnd.fujixerox.ddd", "ddd" );
-        ContentTypeResolver.mapper.put( "application/vnd.fujixerox.docuworks", "xdw" );
-        ContentTypeResolver.mapper.put( "application/vnd.fujixerox.docuworks.binder", "xbd" );
-        ContentTypeResolver.mapper.put( "application/vnd.fuzzysheet", "fzs" );
-        ContentTypeResolver.mapper.put( "application/vnd.genomatix.tuxedo", "txd" );
-        ContentTypeResolver.mapper.put( "application/vnd.geogebra.file", "ggb" );
-        ContentTypeResolver.mapper.put( "application/vnd.geogebra.tool", "ggt" );
-        ContentTypeResolver.mapper.put( "application/vnd.geometry-explorer", "gex" );
-        ContentTypeResolver.mapper.put( "application/vnd.geonext", "gxt" );
-        ContentTypeResolver.mapper.put( "application/vnd.geoplan", "g2w" );
-        ContentTypeResolver.mapper.put( "application/vnd.geospace", "g3w" );
-        ContentTypeResolver.mapper.put( "application/vnd.gmx", "gmx" );
-        ContentTypeResolver.mapper.put( "application/vnd.google-earth.kml+xml", "kml" );
-        ContentTypeResolver.mapper.put( "application/vnd.google-earth.kmz", "kmz" );
-        ContentTypeResolver.mapper.put( "application/vnd.grafeq", "gqf" );
-        ContentTypeResolver.mapper.put( "application/vnd.groove-account", "gac" );
-        ContentTypeResolver.mapper.put( "application/vnd.groove-help", "ghf" );
-        ContentTypeResolver.mapper.put( "application/vnd.groove-identity-message", "gim" );
-        ContentTypeResolver.mapper.put( "application/vnd.groove-injector", "grv" );
-        ContentTypeResolver.mapper.put( "application/vnd.groove-tool-message", "gtm" );
-        ContentTypeResolver.mapper.put( "application/vnd.groove-tool-template", "tpl" );
-        ContentTypeResolver.mapper.put( "application/vnd.groove-vcard", "vcg" );
-        ContentTypeResolver.mapper.put( "application/vnd.hal+xml", "hal" );
-        ContentTypeResolver.mapper.put( "application/vnd.handheld-entertainment+xml", "zmm" );
-        ContentTypeResolver.mapper.put( "application/vnd.hbci", "hbci" );
-        ContentTypeResolver.mapper.put( "application/vnd.hhe.lesson-player", "les" );
-        ContentTypeResolver.mapper.put( "application/vnd.hp-hpgl", "hpgl" );
-        ContentTypeResolver.mapper.put( "application/vnd.hp-hpid", "hpid" );
-        ContentTypeResolver.mapper.put( "application/vnd.hp-hps", "hps" );
-        ContentTypeResolver.mapper.put( "application/vnd.hp-jlyt", "jlt" );
-        ContentTypeResolver.mapper.put( "application/vnd.hp-pcl", "pcl" );
-        ContentTypeResolver.mapper.put( "application/vnd.hp-pclxl", "pclxl" );
-        ContentTypeResolver.mapper.put( "application/vnd.hydrostatix.sof-data", "sfd-hdstx" );
-        ContentTypeResolver.mapper.put( "application/vnd.ibm.minipay", "mpy" );
-        ContentTypeResolver.mapper.put( "application/vnd.ibm.modcap", "afp" );
-        ContentTypeResolver.mapper.put( "application/vnd.ibm.rights-management", "irm" );
-        ContentTypeResolver.mapper.put( "application/vnd.ibm.secure-container", "sc" );
-        ContentTypeResolver.mapper.put( "application/vnd.iccprofile", "icc" );
-        ContentTypeResolver.mapper.put( "application/vnd.igloader", "igl" );
-        ContentTypeResolver.mapper.put( "application/vnd.immervision-ivp", "ivp" );
-        ContentTypeResolver.mapper.put( "application/vnd.immervision-ivu", "ivu" );
-        ContentTypeResolver.mapper.put( "application/vnd.insors.igm", "igm" );
-        ContentTypeResolver.mapper.put( "application/vnd.intercon.formnet", "xpw" );
-        ContentTypeResolver.mapper.put( "application/vnd.intergeo", "i2g" );
-        ContentTypeResolver.mapper.put( "application/vnd.intu.qbo", "qbo" );
-        ContentTypeResolver.mapper.put( "application/vnd.intu.qfx", "qfx" );
-        ContentTypeResolver.mapper.put( "application/vnd.ipunplugged.rcprofile", "rcprofile" );
-        ContentTypeResolver.mapper.put( "application/vnd.irepository.package+xml", "irp" );
-        ContentTypeResolver.mapper.put( "application/vnd.is-xpr", "xpr" );
-        ContentTypeResolver.mapper.put( "application/vnd.isac.fcs", "fcs" );
-        ContentTypeResolver.mapper.put( "application/vnd.jam", "jam" );
-        ContentTypeResolver.mapper.put( "application/vnd.jcp.javame.midlet-rms", "rms" );
-        ContentTypeResolver.mapper.put( "application/vnd.jisp", "jisp" );
-        ContentTypeResolver.mapper.put( "application/vnd.joost.joda-archive", "joda" );
-        ContentTypeResolver.mapper.put( "application/vnd.kahootz", "ktz" );
-        ContentTypeResolver.mapper.put( "application/vnd.kde.karbon", "karbon" );
-        ContentTypeResolver.mapper.put( "application/vnd.kde.kchart", "chrt" );
-        ContentTypeResolver.mapper.put( "application/vnd.kde.kformula", "kfo" );
-        ContentTypeResolver.mapper.put( "application/vnd.kde.kivio", "flw" );
-        ContentTypeResolver.mapper.put( "application/vnd.kde.kontour", "kon" );
-        ContentTypeResolver.mapper.put( "application/vnd.kde.kpresenter", "kpr" );
-        ContentTypeResolver.mapper.put( "application/vnd.kde.kspread", "ksp" );
-        ContentTypeResolver.mapper.put( "application/vnd.kde.kword", "kwd" );
-        ContentTypeResolver.mapper.put( "application/vnd.kenameaapp", "htke" );
-        ContentTypeResolver.mapper.put( "application/vnd.kidspiration", "kia" );
-        ContentTypeResolver.mapper.put( "application/vnd.kinar", "kne" );
-        ContentTypeResolver.mapper.put( "application/vnd.koan", "skp" );
-        ContentTypeResolver.mapper.put( "application/vnd.kodak-descriptor", "sse" );
-        ContentTypeResolver.mapper.put( "application/vnd.las.las+xml", "lasxml" );
-        ContentTypeResolver.mapper.put( "application/vnd.llamagraphics.life-balance.desktop", "lbd" );
-        ContentTypeResolver.mapper.put( "application/vnd.llamagraphics.life-balance.exchange+xml", "lbe" );
-        ContentTypeResolver.mapper.put( "application/vnd.lotus-1-2-3", "123" );
-        ContentTypeResolver.mapper.put( "application/vnd.lotus-approach", "apr" );
-        ContentTypeResolver.mapper.put( "application/vnd.lotus-freelance", "pre" );
-        ContentTypeResolver.mapper.put( "application/vnd.lotus-notes", "nsf" );
-        ContentTypeResolver.mapper.put( "application/vnd.lotus-organizer", "org" );
-        ContentTypeResolver.mapper.put( "application/vnd.lotus-screencam", "scm" );
-        ContentTypeResolver.mapper.put( "application/vnd.lotus-wordpro", "lwp" );
-        ContentTypeResolver.mapper.put( "application/vnd.macports.portpkg", "portpkg" );
-        ContentTypeResolver.mapper.put( "application/vnd.mcd", "mcd" );
-        ContentTypeResolver.mapper.put( "application/vnd.medcalcdata", "mc1" );
-        ContentTypeResolver.mapper.put( "application/vnd.mediastation.cdkey", "cdkey" );
-        ContentTypeResolver.mapper.put( "application/vnd.mfer", "mwf" );
-        ContentTypeResolver.mapper.put( "application/vnd.mfmp", "mfm" );
-        ContentTypeResolver.mapper.put( "application/vnd.micrografx.flo", "flo" );
-        ContentTypeResolver.mapper.put( "application/vnd.micrografx.igx", "igx" );
-        ContentTypeResolver.mapper.put( "application/vnd.mif", "mif" );
-        ContentTypeResolver.mapper.put( "application/vnd.mobius.daf", "daf" );
-        ContentTypeResolver.mapper.put( "application/vnd.mobius.dis", "dis" );
-        ContentTypeResolver.mapper.put( "application/vnd.mobius.mbk", "mbk" );
-        ContentTypeResolver.mapper.put( "application/vnd.mobius.mqy", "mqy" );
-        ContentTypeResolver.mapper.put( "application/vnd.mobius.msl", "msl" );
-        ContentTypeResolver.mapper.put( "application/vnd.mobius.plc", "plc" );
-        ContentTypeResolver.mapper.put( "application/vnd.mobius.txf", "txf" );
-        ContentTypeResolver.mapper.put( "application/vnd.mophun.application", "mpn" );
-        ContentTypeResolver.mapper.put( "application/vnd.mophun.certificate", "mpc" );
-        ContentTypeResolver.mapper.put( "application/vnd.mozilla.xul+xml", "xul" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-artgalry", "cil" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-cab-compressed", "cab" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-excel", "xls" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-excel.addin.macroenabled.12", "xlam" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-excel.sheet.binary.macroenabled.12", "xlsb" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-excel.sheet.macroenabled.12", "xlsm" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-excel.template.macroenabled.12", "xltm" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-fontobject", "eot" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-htmlhelp", "chm" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-ims", "ims" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-lrm", "lrm" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-officetheme", "thmx" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-pki.seccat", "cat" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-pki.stl", "stl" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-powerpoint", "ppt" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-powerpoint.addin.macroenabled.12", "ppam" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-powerpoint.presentation.macroenabled.12", "pptm" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-powerpoint.slide.macroenabled.12", "sldm" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-powerpoint.slideshow.macroenabled.12", "ppsm" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-powerpoint.template.macroenabled.12", "potm" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-project", "mpp" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-word.document.macroenabled.12", "docm" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-word.template.macroenabled.12", "dotm" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-works", "wps" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-wpl", "wpl" );
-        ContentTypeResolver.mapper.put( "application/vnd.ms-xpsdocument", "xps" );
-        ContentTypeResolver.mapper.put( "application/vnd.mseq", "mseq" );
-        ContentTypeResolver.mapper.put( "application/vnd.musician", "mus" );
-        ContentTypeResolver.mapper.put( "application/vnd.muvee.style", "msty" );
-        ContentTypeResolver.mapper.put( "application/vnd.mynfc", "taglet" );
-        ContentTypeResolver.mapper.put( "application/vnd.neurolanguage.nlu", "nlu" );
-        ContentTypeResolver.mapper.put( "application/vnd.nitf", "ntf" );
-        ContentTypeResolver.mapper.put( "application/vnd.noblenet-directory", "nnd" );
-        ContentTypeResolver.mapper.put( "application/vnd.noblenet-sealer", "nns" );
-        ContentTypeResolver.mapper.put( "application/vnd.noblenet-web", "nnw" );
-        ContentTypeResolver.mapper.put( "application/vnd.nokia.n-gage.data", "ngdat" );
-        ContentTypeResolver.mapper.put( "application/vnd.nokia.n-gage.symbian.install", "n-gage" );
-        ContentTypeResolver.mapper.put( "application/vnd.nokia.radio-preset", "rpst" );
-        ContentTypeResolver.mapper.put( "application/vnd.nokia.radio-presets", "rpss" );
-        ContentTypeResolver.mapper.put( "application/vnd.novadigm.edm", "edm" );
-        ContentTypeResolver.mapper.put( "application/vnd.novadigm.edx", "edx" );
-        ContentTypeResolver.mapper.put( "application/vnd.novadigm.ext", "ext" );
-        ContentTypeResolver.mapper.put( "application/vnd.oasis.opendocument.chart", "odc" );
-        ContentTypeResolver.mapper.put( "application/vnd.oasis.opendocument.chart-template", "otc" );
-        ContentTypeResolver.mapper.put( "application/vnd.oasis.opendocument.database", "odb" );
-        ContentTypeResolver.mapper.put( "application/vnd.oasis.opendocument.formula", "odf" );
-        ContentTypeResolver.mapper.put( "application/vnd.oasis.opendocument.formula-template", "odft" );
-        ContentTypeResolver.mapper.put( "application/vnd.oasis.opendocument.graphics", "odg" );
-        ContentTypeResolver.mapper.put( "application/vnd.oasis.opendocument.graphics-template", "otg" );
-        ContentTypeResolver.mapper.put( "application/vnd.oasis.opendocument.image", "odi" );
-        ContentTypeResolver.mapper.put( "application/vnd.oasis.opendocument.image-template", "oti" );
-        ContentTypeResolver.mapper.put( "application/vnd.oasis.opendocument.presentation", "odp" );
-        ContentTypeResolver.mapper.put( "application/vnd.oasis.opendocument.presentation-template", "otp" );
-        ContentTypeResolver.mapper.put( "application/vnd.oasis.opendocument.spreadsheet", "ods" );
-        ContentTypeResolver.mapper.put( "application/vnd.oasis.opendocument.spreadsheet-template", "ots" );
-        ContentTypeResolver.mapper.put( "application/vnd.oasis.opendocument.text", "odt" );
-        ContentTypeResolver.mapper.put( "application/vnd.oasis.opendocument.text-master", "odm" );
-        ContentTypeResolver.mapper.put( "application/vnd.oasis.opendocument.text-template", "ott" );
-        ContentTypeResolver.mapper.put( "application/vnd.oasis.opendocument.text-web", "oth" );
-        ContentTypeResolver.mapper.put( "application/vnd.olpc-sugar", "xo" );
-        ContentTypeResolver.mapper.put( "application/vnd.oma.dd2+xml", "dd2" );
-        ContentTypeResolver.mapper.put( "application/vnd.openofficeorg.extension", "oxt" );
-        ContentTypeResolver.mapper.put( "application/vnd.openxmlformats-officedocument.presentationml.presentation", "pptx" );
-        ContentTypeResolver.mapper.put( "application/vnd.openxmlformats-officedocument.presentationml.slide", "sldx" );
-        ContentTypeResolver.mapper.put( "application/vnd.openxmlformats-officedocument.presentationml.slideshow", "ppsx" );
-        ContentTypeResolver.mapper.put( "application/vnd.openxmlformats-officedocument.presentationml.template", "potx" );
-        ContentTypeResolver.mapper.put( "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx" );
-        ContentTypeResolver.mapper.put( "application/vnd.openxmlformats-officedocument.spreadsheetml.template", "xltx" );
-        ContentTypeResolver.mapper.put( "application/vnd.openxmlformats-officedocument.wordprocessingml.document", "docx" );
-        ContentTypeResolver.mapper.put( "application/vnd.openxmlformats-officedocument.wordprocessingml.template", "dotx" );
-        ContentTypeResolver.mapper.put( "application/vnd.osgeo.mapguide.package", "mgp" );
-        ContentTypeResolver.mapper.put( "application/vnd.osgi.dp", "dp" );
-        ContentTypeResolver.mapper.put( "application/vnd.osgi.subsystem", "esa" );
-        ContentTypeResolver.mapper.put( "application/vnd.palm", "pdb" );
-        ContentTypeResolver.mapper.put( "application/vnd.pawaafile", "paw" );
-        ContentTypeResolver.mapper.put( "application/vnd.pg.format", "str" );
-        ContentTypeResolver.mapper.put( "application/vnd.pg.osasli", "ei6" );
-        ContentTypeResolver.mapper.put( "application/vnd.picsel", "efif" );
-        ContentTypeResolver.mapper.put( "application/vnd.pmi.widget", "wg" );
-        ContentTypeResolver.mapper.put( "application/vnd.pocketlearn", "plf" );
-        ContentTypeResolver.mapper.put( "application/vnd.powerbuilder6", "pbd" );
-        ContentTypeResolver.mapper.put( "application/vnd.previewsystems.box", "box" );
-        ContentTypeResolver.mapper.put( "application/vnd.proteus.magazine", "mgz" );
-        ContentTypeResolver.mapper.put( "application/vnd.publishare-delta-tree", "qps" );
-        ContentTypeResolver.mapper.put( "application/vnd.pvi.ptid1", "ptid" );
-        ContentTypeResolver.mapper.put( "application/vnd.quark.quarkxpress", "qxd" );
-        ContentTypeResolver.mapper.put( "application/vnd.realvnc.bed", "bed" );
-        ContentTypeResolver.mapper.put( "application/vnd.recordare.musicxml", "mxl" );
-        ContentTypeResolver.mapper.put( "application/vnd.recordare.musicxml+xml", "musicxml" );
-        ContentTypeResolver.mapper.put( "application/vnd.rig.cryptonote", "cryptonote" );
-        ContentTypeResolver.mapper.put( "application/vnd.rim.cod", "cod" );
-        ContentTypeResolver.mapper.put( "application/vnd.rn-realmedia", "rm" );
-        ContentTypeResolver.mapper.put( "application/vnd.rn-realmedia-vbr", "rmvb" );
-        ContentTypeResolver.mapper.put( "application/vnd.route66.link66+xml", "link66" );
-        ContentTypeResolver.mapper.put( "application/vnd.sailingtracker.track", "st" );
-        ContentTypeResolver.mapper.put( "application/vnd.seemail", "see" );
-        ContentTypeResolver.mapper.put( "application/vnd.sema", "sema" );
-        ContentTypeResolver.mapper.put( "application/vnd.semd", "semd" );
-        ContentTypeResolver.mapper.put( "application/vnd.semf", "semf" );
-        ContentTypeResolver.mapper.put( "application/vnd.shana.informed.formdata", "ifm" );
-        ContentTypeResolver.mapper.put( "application/vnd.shana.informed.formtemplate", "itp" );
-        ContentTypeResolver.mapper.put( "application/vnd.shana.informed.interchange", "iif" );
-        ContentTypeResolver.mapper.put( "application/vnd.shana.informed.package", "ipk" );
-        ContentTypeResolver.mapper.put( "application/vnd.simtech-mindmapper", "twd" );
-        ContentTypeResolver.mapper.put( "application/vnd.smaf", "mmf" );
-        ContentTypeResolver.mapper.put( "application/vnd.smart.teacher", "teacher" );
-        ContentTypeResolver.mapper.put( "application/vnd.solent.sdkm+xml", "sdkm" );
-        ContentTypeResolver.mapper.put( "application/vnd.spotfire.dxp", "dxp" );
-        ContentTypeResolver.mapper.put( "application/vnd.spotfire.sfs", "sfs" );
-        ContentTypeResolver.mapper.put( "application/vnd.stardivision.calc", "sdc" );
-        ContentTypeResolver.mapper.put( "application/vnd.stardivision.draw", "sda" );
-        ContentTypeResolver.mapper.put( "application/vnd.stardivision.impress", "sdd" );
-        ContentTypeResolver.mapper.put( "application/vnd.stardivision.math", "smf" );
-        ContentTypeResolver.mapper.put( "application/vnd.stardivision.writer", "sdw" );
-        ContentTypeResolver.mapper.put( "application/vnd.stardivision.writer-global", "sgl" );
-        ContentTypeResolver.mapper.put( "application/vnd.stepmania.package", "smzip" );
-        ContentTypeResolver.mapper.put( "application/vnd.stepmania.stepchart", "sm" );
-        ContentTypeResolver.mapper.put( "application/vnd.sun.xml.calc", "sxc" );
-        ContentTypeResolver.mapper.put( "application/vnd.sun.xml.calc.template", "stc" );
-        ContentTypeResolver.mapper.put( "application/vnd.sun.xml.draw", "sxd" );
-        ContentTypeResolver.mapper.put( "application/vnd.sun.xml.draw.template", "std" );
-        ContentTypeResolver.mapper.put( "application/vnd.sun.xml.impress", "sxi" );
-        ContentTypeResolver.mapper.put( "application/vnd.sun.xml.impress.template", "sti" );
-        ContentTypeResolver.mapper.put( "application/vnd.sun.xml.math", "sxm" );
-        ContentTypeResolver.mapper.put( "application/vnd.sun.xml.writer", "sxw" );
-        ContentTypeResolver.mapper.put( "application/vnd.sun.xml.writer.global", "sxg" );
-        ContentTypeResolver.mapper.put( "application/vnd.sun.xml.writer.template", "stw" );
-        ContentTypeResolver.mapper.put( "application/vnd.sus-calendar", "sus" );
-        ContentTypeResolver.mapper.put( "application/vnd.svd", "svd" );
-        ContentTypeResolver.mapper.put( "application/vnd.symbian.install", "sis" );
-        ContentTypeResolver.mapper.put( "application/vnd.syncml+xml", "xsm" );
-        ContentTypeResolver.mapper.put( "application/vnd.syncml.dm+wbxml", "bdm" );
-        ContentTypeResolver.mapper.put( "application/vnd.syncml.dm+xml", "xdm" );
-        ContentTypeResolver.mapper.put( "application/vnd.tao.intent-module-archive", "tao" );
-        ContentTypeResolver.mapper.put( "application/vnd.tcpdump.pcap", "pcap" );
-        ContentTypeResolver.mapper.put( "application/vnd.tmobile-livetv", "tmo" );
-        ContentTypeResolver.mapper.put( "application/vnd.trid.tpt", "tpt" );
-        ContentTypeResolver.mapper.put( "application/vnd.triscape.mxs", "mxs" );
-        ContentTypeResolver.mapper.put( "application/vnd.trueapp", "tra" );
-        ContentTypeResolver.mapper.put( "application/vnd.ufdl", "ufd" );
-        ContentTypeResolver.mapper.put( "application/vnd.uiq.theme", "utz" );
-        ContentTypeResolver.mapper.put( "application/vnd.umajin", "umj" );
-        ContentTypeResolver.mapper.put( "application/vnd.unity", "unityweb" );
-        ContentTypeResolver.mapper.put( "application/vnd.uoml+xml", "uoml" );
-        ContentTypeResolver.mapper.put( "application/vnd.vcx", "vcx" );
-        ContentTypeResolver.mapper.put( "application/vnd.visio", "vsd" );
-        ContentTypeResolver.mapper.put( "application/vnd.visionary", "vis" );
-        ContentTypeResolver.mapper.put( "application/vnd.vsf", "vsf" );
-        ContentTypeResolver.mapper.put( "application/vnd.wap.wbxml", "wbxml" );
-        ContentTypeResolver.mapper.put( "application/vnd.wap.wmlc", "wmlc" );
-        ContentTypeResolver.mapper.put( "application/vnd.wap.wmlscriptc", "wmlsc" );
-        ContentTypeResolver.mapper.put( "application/vnd.webturbo", "wtb" );
-        ContentTypeResolver.mapper.put( "application/vnd.wolfram.player", "nbp" );
-        ContentTypeResolver.mapper.put( "application/vnd.wordperfect", "wpd" );
-        ContentTypeResolver.mapper.put( "application/vnd.wqd", "wqd" );
-        ContentTypeResolver.mapper.put( "application/vnd.wt.stf", "stf" );
-        ContentTypeResolver.mapper.put( "application/vnd.xara", "xar" );
-        ContentTypeResolver.mapper.put( "application/vnd.xfdl", "xfdl" );
-        ContentTypeResolver.mapper.put( "application/vnd.yamaha.hv-dic", "hvd" );
-        ContentTypeResolver.mapper.put( "application/vnd.yamaha.hv-script", "hvs" );
-        ContentTypeResolver.mapper.put( "application/vnd.yamaha.hv-voice", "hvp" );
-        ContentTypeResolver.mapper.put( "application/vnd.yamaha.openscoreformat", "osf" );
-        ContentTypeResolver.mapper.put( "application/vnd.yamaha.openscoreformat.osfpvg+xml", "osfpvg" );
-        ContentTypeResolver.mapper.put( "application/vnd.yamaha.smaf-audio", "saf" );
-        ContentTypeResolver.mapper.put( "application/vnd.yamaha.smaf-phrase", "spf" );
-        ContentTypeResolver.mapper.put( "application/vnd.yellowriver-custom-menu", "cmp" );
-        ContentTypeResolver.mapper.put( "application/vnd.zul", "zir" );
-        ContentTypeResolver.mapper.put( "application/vnd.zzazz.deck+xml", "zaz" );
-        ContentTypeResolver.mapper.put( "application/voicexml+xml", "vxml" );
-        ContentTypeResolver.mapper.put( "application/widget", "wgt" );
-        ContentTypeResolver.mapper.put( "application/winhlp", "hlp" );
-        ContentTypeResolver.mapper.put( "application/wsdl+xml", "wsdl" );
-        ContentTypeResolver.mapper.put( "application/wspolicy+xml", "wspolicy" );
-        ContentTypeResolver.mapper.put( "application/x-7z-compressed", "7z" );
-        ContentTypeResolver.mapper.put( "application/x-abiword", "abw" );
-        ContentTypeResolver.mapper.put( "application/x-ace-compressed", "ace" );
-        ContentTypeResolver.mapper.put( "application/x-apple-diskimage", "dmg" );
-        ContentTypeResolver.mapper.put( "application/x-authorware-bin", "aab" );
-        ContentTypeResolver.mapper.put( "application/x-authorware-map", "aam" );
-        ContentTypeResolver.mapper.put( "application/x-authorware-seg", "aas" );
-        ContentTypeResolver.mapper.put( "application/x-bcpio", "bcpio" );
-        ContentTypeResolver.mapper.put( "application/x-bittorrent", "torrent" );
-        ContentTypeResolver.mapper.put( "application/x-blorb", "blb" );
-        ContentTypeResolver.mapper.put( "application/x-bzip", "bz" );
-        ContentTypeResolver.mapper.put( "application/x-bzip2", "bz2" );
-        ContentTypeResolver.mapper.put( "application/x-cbr", "cbr" );
-        ContentTypeResolver.mapper.put( "application/x-cdlink", "vcd" );
-        ContentTypeResolver.mapper.put( "application/x-cfs-compressed", "cfs" );
-        ContentTypeResolver.mapper.put( "application/x-chat", "chat" );
-        ContentTypeResolver.mapper.put( "application/x-chess-pgn", "pgn" );
-        ContentTypeResolver.mapper.put( "application/x-conference", "nsc" );
-        ContentTypeResolver.mapper.put( "application/x-cpio", "cpio" );
-        ContentTypeResolver.mapper.put( "application/x-csh", "csh" );
-        ContentTypeResolver.mapper.put( "application/x-debian-package", "deb" );
-        ContentTypeResolver.mapper.put( "application/x-dgc-compressed", "dgc" );
-        ContentTypeResolver.mapper.put( "application/x-director", "dir" );
-        ContentTypeResolver.mapper.put( "application/x-doom", "wad" );
-        ContentTypeResolver.mapper.put( "application/x-dtbncx+xml", "ncx" );
-        ContentTypeResolver.mapper.put( "application/x-dtbook+xml", "dtb" );
-        ContentTypeResolver.mapper.put( "application/x-dtbresource+xml", "res" );
-        ContentTypeResolver.mapper.put( "application/x-dvi", "dvi" );
-        ContentTypeResolver.mapper.put( "application/x-envoy", "evy" );
-        ContentTypeResolver.mapper.put( "application/x-eva", "eva" );
-        ContentTypeResolver.mapper.put( "application/x-font-bdf", "bdf" );
-        ContentTypeResolver.mapper.put( "application/x-font-ghostscript", "gsf" );
-        ContentTypeResolver.mapper.put( "application/x-font-linux-psf", "psf" );
-        ContentTypeResolver.mapper.put( "application/x-font-otf", "otf" );
-        ContentTypeResolver.mapper.put( "application/x-font-pcf", "pcf" );
-        ContentTypeResolver.mapper.put( "application/x-font-snf", "snf" );
-        ContentTypeResolver.mapper.put( "application/x-font-ttf", "ttf" );
-        ContentTypeResolver.mapper.put( "application/x-font-type1", "pfa" );
-        ContentTypeResolver.mapper.put( "application/x-font-woff", "woff" );
-        ContentTypeResolver.mapper.put( "application/x-freearc", "arc" );
-        ContentTypeResolver.mapper.put( "application/x-futuresplash", "spl" );
-        ContentTypeResolver.mapper.put( "application/x-gca-compressed", "gca" );
-        ContentTypeResolver.mapper.put( "application/x-glulx", "ulx" );
-        ContentTypeResolver.mapper.put( "application/x-gnumeric", "gnumeric" );
-        ContentTypeResolver.mapper.put( "application/x-gramps-xml", "gramps" );
-        ContentTypeResolver.mapper.put( "application/x-gtar", "gtar" );
-        ContentTypeResolver.mapper.put( "application/x-hdf", "hdf" );
-        ContentTypeResolver.mapper.put( "application/x-install-instructions", "install" );
-        ContentTypeResolver.mapper.put( "application/x-iso9660-image", "iso" );
-        ContentTypeResolver.mapper.put( "application/x-java-jnlp-file", "jnlp" );
-        ContentTypeResolver.mapper.put( "application/x-latex", "latex" );
-        ContentTypeResolver.mapper.put( "application/x-lzh-compressed", "lzh" );
-        ContentTypeResolver.mapper.put( "application/x-mie", "mie" );
-        ContentTypeResolver.mapper.put( "application/x-mobipocket-ebook", "prc" );
-        ContentTypeResolver.mapper.put( "application/x-ms-application", "application" );
-        ContentTypeResolver.mapper.put( "application/x-ms-shortcut", "lnk" );
-        ContentTypeResolver.mapper.put( "application/x-ms-wmd", "wmd" );
-        ContentTypeResolver.mapper.put( "application/x-ms-wmz", "wmz" );
-        ContentTypeResolver.mapper.put( "application/x-ms-xbap", "xbap" );
-        ContentTypeResolver.mapper.put( "application/x-msaccess", "mdb" );
-        ContentTypeResolver.mapper.put( "application/x-msbinder", "obd" );
-        ContentTypeResolver.mapper.put( "application/x-mscardfile", "crd" );
-        ContentTypeResolver.mapper.put( "application/x-msclip", "clp" );
-        ContentTypeResolver.mapper.put( "application/x-msdownload", "exe" );
-        ContentTypeResolver.mapper.put( "application/x-msmediaview", "mvb" );
-        ContentTypeResolver.mapper.put( "application/x-msmetafile", "wmf" );
-        ContentTypeResolver.mapper.put( "application/x-msmoney", "mny" );
-        ContentTypeResolver.mapper.put( "application/x-mspublisher", "pub" );
-        ContentTypeResolver.mapper.put( "application/x-msschedule", "scd" );
-        ContentTypeResolver.mapper.put( "application/x-msterminal", "trm" );
-        ContentTypeResolver.mapper.put( "application/x-mswrite", "wri" );
-        ContentTypeResolver.mapper.put( "application/x-netcdf", "nc" );
-        ContentTypeResolver.mapper.put( "application/x-nzb", "nzb" );
-        ContentTypeResolver.mapper.put( "application/x-pkcs12", "p12" );
-        ContentTypeResolver.mapper.put( "application/x-pkcs7-certificates", "p7b" );
-        ContentTypeResolver.mapper.put( "application/x-pkcs7-certreqresp", "p7r" );
-        ContentTypeResolver.mapper.put( "application/x-rar-compressed", "rar" );
-        ContentTypeResolver.mapper.put( "application/x-rar", "rar" );
-        ContentTypeResolver.mapper.put( "application/x-research-info-systems", "ris" );
-        ContentTypeResolver.mapper.put( "application/x-sh", "sh" );
-        ContentTypeResolver.mapper.put( "application/x-shar", "shar" );
-        ContentTypeResolver.mapper.put( "application/x-shockwave-flash", "swf" );
-        ContentTypeResolver.mapper.put( "application/x-silverlight-app", "xap" );
-        ContentTypeResolver.mapper.put( "application/x-sql", "sql" );
-        ContentTypeResolver.mapper.put( "application/x-stuffit", "sit" );
-        ContentTypeResolver.mapper.put( "application/x-stuffitx", "sitx" );
-        ContentTypeResolver.mapper.put( "application/x-subrip", "srt" );
-        ContentTypeResolver.mapper.put( "application/x-sv4cpio", "sv4cpio" );
-        ContentTypeResolver.mapper.put( "application/x-sv4crc", "sv4crc" );
-        ContentTypeResolver.mapper.put( "application/x-t3vm-image", "t3" );
-        ContentTypeResolver.mapper.put( "application/x-tads", "gam" );
-        ContentTypeResolver.mapper.put( "application/x-tar", "tar" );
-        ContentTypeResolver.mapper.put( "application/x-tcl", "tcl" );
-        ContentTypeResolver.mapper.put( "application/x-tex", "tex" );
-        ContentTypeResolver.mapper.put( "application/x-tex-tfm", "tfm" );
-        ContentTypeResolver.mapper.put( "application/x-texinfo", "texinfo" );
-        ContentTypeResolver.mapper.put( "application/x-tgif", "obj" );
-        ContentTypeResolver.mapper.put( "application/x-ustar", "ustar" );
-        ContentTypeResolver.mapper.put( "application/x-wais-source", "src" );
-        ContentTypeResolver.mapper.put( "application/x-x509-ca-cert", "der" );
-        ContentTypeResolver.mapper.put( "application/x-xfig", "fig" );
-        ContentTypeResolver.mapper.put( "application/x-xliff+xml", "xlf" );
-        ContentTypeResolver.mapper.put( "application/x-xpinstall", "xpi" );
-        ContentTypeResolver.mapper.put( "application/x-xz", "xz" );
-        ContentTypeResolver.mapper.put( "application/x-zip-compressed", "zip" );
-        ContentTypeResolver.mapper.put( "application/x-zmachine", "z1" );
-        ContentTypeResolver.mapper.put( "application/xaml+xml", "xaml" );
-        ContentTypeResolver.mapper.put( "application/xcap-diff+xml", "xdf" );
-        ContentTypeResolver.mapper.put( "application/xenc+xml", "xenc" );
-        ContentTypeResolver.mapper.put( "application/xhtml+xml", "xhtml" );
-        ContentTypeResolver.mapper.put( "application/xml", "xml" );
-        ContentTypeResolver.mapper.put( "application/xml-dtd", "dtd" );
-        ContentTypeResolver.mapper.put( "application/xop+xml", "xop" );
-        ContentTypeResolver.mapper.put( "application/xproc+xml", "xpl" );
-        ContentTypeResolver.mapper.put( "application/xslt+xml", "xslt" );
-        ContentTypeResolver.mapper.put( "application/xspf+xml", "xspf" );
-        ContentTypeResolver.mapper.put( "application/xv+xml", "mxml" );
-        ContentTypeResolver.mapper.put( "application/yang", "yang" );
-        ContentTypeResolver.mapper.put( "application/yin+xml", "yin" );
-        ContentTypeResolver.mapper.put( "application/zip", "zip" );
-        ContentTypeResolver.mapper.put( "audio/adpcm", "adp" );
-        ContentTypeResolver.mapper.put( "audio/basic", "au" );
-        ContentTypeResolver.mapper.put( "audio/midi", "mid" );
-        ContentTypeResolver.mapper.put( "audio/mp4", "m4a" );
-        ContentTypeResolver.mapper.put( "audio/mpeg", "mp3" );
-        ContentTypeResolver.mapper.put( "audio/ogg", "oga" );
-        ContentTypeResolver.mapper.put( "audio/s3m", "s3m" );
-        ContentTypeResolver.mapper.put( "audio/silk", "sil" );
-        ContentTypeResolver.mapper.put( "audio/vnd.dece.audio", "uva" );
-        ContentTypeResolver.mapper.put( "audio/vnd.digital-winds", "eol" );
-        ContentTypeResolver.mapper.put( "audio/vnd.dra", "dra" );
-        ContentTypeResolver.mapper.put( "audio/vnd.dts", "dts" );
-        ContentTypeResolver.mapper.put( "audio/vnd.dts.hd", "dtshd" );
-        ContentTypeResolver.mapper.put( "audio/vnd.lucent.voice", "lvp" );
-        ContentTypeResolver.mapper.put( "audio/vnd.ms-playready.media.pya", "pya" );
-        ContentTypeResolver.mapper.put( "audio/vnd.nuera.ecelp4800", "ecelp4800" );
-        ContentTypeResolver.mapper.put( "audio/vnd.nuera.ecelp7470", "ecelp7470" );
-        ContentTypeResolver.mapper.put( "audio/vnd.nuera.ecelp9600", "ecelp9600" );
-        ContentTypeResolver.mapper.put( "audio/vnd.rip", "rip" );
-        ContentTypeResolver.mapper.put( "audio/webm", "weba" );
-        ContentTypeResolver.mapper.put( "audio/x-aac", "aac" );
-        ContentTypeResolver.mapper.put( "audio/x-aiff", "aif" );
-        ContentTypeResolver.mapper.put( "audio/x-caf", "caf" );
-        ContentTypeResolver.mapper.put( "audio/x-flac", "flac" );
-        ContentTypeResolver.mapper.put( "audio/x-hx-aac-adts", "aac" );
-        ContentTypeResolver.mapper.put( "audio/x-matroska", "mka" );
-        ContentTypeResolver.mapper.put( "audio/x-mpegurl", "m3u" );
-        ContentTypeResolver.mapper.put( "audio/x-ms-wax", "wax" );
-        ContentTypeResolver.mapper.put( "audio/x-ms-wma", "wma" );
-        ContentTypeResolver.mapper.put( "audio/x-pn-realaudio", "ram" );
-        ContentTypeResolver.mapper.put( "audio/x-pn-realaudio-plugin", "rmp" );
-        ContentTypeResolver.mapper.put( "audio/x-wav", "wav" );
-        ContentTypeResolver.mapper.put( "audio/xm", "xm" );
-        ContentTypeResolver.mapper.put( "chemical/x-cdx", "cdx" );
-        ContentTypeResolver.mapper.put( "chemical/x-cif", "cif" );
-        ContentTypeResolver.mapper.put( "chemical/x-cmdf", "cmdf" );
-        ContentTypeResolver.mapper.put( "chemical/x-cml", "cml" );
-        ContentTypeResolver.mapper.put( "chemical/x-csml", "csml" );
-        ContentTypeResolver.mapper.put( "chemical/x-xyz", "xyz" );
-        ContentTypeResolver.mapper.put( "font/collection", "ttc" );
-        ContentTypeResolver.mapper.put( "font/otf", "otf" );
-        ContentTypeResolver.mapper.put( "font/ttf", "ttf" );
-        ContentTypeResolver.mapper.put( "font/woff", "woff" );
-        ContentTypeResolver.mapper.put( "font/woff2", "woff2" );
-        ContentTypeResolver.mapper.put( "image/bmp", "bmp" );
-        ContentTypeResolver.mapper.put( "image/x-ms-bmp", "bmp" );
-        ContentTypeResolver.mapper.put( "image/cgm", "cgm" );
-        ContentTypeResolver.mapper.put( "image/g3fax", "g3" );
-        ContentTypeResolver.mapper.put( "image/gif", "gif" );
-        ContentTypeResolver.mapper.put( "image/ief", "ief" );
-        ContentTypeResolver.mapper.put( "image/jpeg", "jpeg" );
-        ContentTypeResolver.mapper.put( "image/pjpeg", "jpeg" );
-        ContentTypeResolver.mapper.put( "image/ktx", "ktx" );
-        ContentTypeResolver.mapper.put( "image/png", "png" );
-        ContentTypeResolver.mapper.put( "image/prs.btif", "btif" );
-        ContentTypeResolver.mapper.put( "image/sgi", "sgi" );
-        ContentTypeResolver.mapper.put( "image/svg+xml", "svg" );
-        ContentTypeResolver.mapper.put( "image/tiff", "tiff" );
-        ContentTypeResolver.mapper.put( "image/vnd.adobe.photoshop", "psd" );
-        ContentTypeResolver.mapper.put( "image/vnd.dece.graphic", "uvi" );
-        ContentTypeResolver.mapper.put( "image/vnd.djvu", "djvu" );
-        ContentTypeResolver.mapper.put( "image/vnd.dvb.subtitle", "sub" );
-        ContentTypeResolver.mapper.put( "image/vnd.dwg", "dwg" );
-        ContentTypeResolver.mapper.put( "image/vnd.dxf", "dxf" );
-        ContentTypeResolver.mapper.put( "image/vnd.fastbidsheet", "fbs" );
-        ContentTypeResolver.mapper.put( "image/vnd.fpx", "fpx" );
-        ContentTypeResolver.mapper.put( "image/vnd.fst", "fst" );
-        ContentTypeResolver.mapper.put( "image/vnd.fujixerox.edmics-mmr", "mmr" );
-        ContentTypeResolver.mapper.put( "image/vnd.fujixerox.edmics-rlc", "rlc" );
-        ContentTypeResolver.mapper.put( "image/vnd.ms-modi", "mdi" );
-        ContentTypeResolver.mapper.put( "image/vnd.ms-photo", "wdp" );
-        ContentTypeResolver.mapper.put( "image/vnd.net-fpx", "npx" );
-        ContentTypeResolver.mapper.put( "image/vnd.wap.wbmp", "wbmp" );
-        ContentTypeResolver.mapper.put( "image/vnd.xiff", "xif" );
-        ContentTypeResolver.mapper.put( "image/webp", "webp" );
-        ContentTypeResolver.mapper.put( "image/x-3ds", "3ds" );
-        ContentTypeResolver.mapper.put( "image/x-cmu-raster", "ras" );
-        ContentTypeResolver.mapper.put( "image/x-cmx", "cmx" );
-        ContentTypeResolver.mapper.put( "image/x-freehand", "fh" );
-        ContentTypeResolver.mapper.put( "image/x-icon", "ico" );
-        ContentTypeResolver.mapper.put( "image/x-mrsid-image", "sid" );
-        ContentTypeResolver.mapper.put( "image/x-pcx", "pcx" );
-        ContentTypeResolver.mapper.put( "image/x-pict", "pic" );
-        ContentTypeResolver.mapper.put( "image/x-portable-anymap", "pnm" );
-        ContentTypeResolver.mapper.put( "image/x-portable-bitmap", "pbm" );
-        ContentTypeResolver.mapper.put( "image/x-portable-graymap", "pgm" );
-        ContentTypeResolver.mapper.put( "image/x-portable-pixmap", "ppm" );
-        ContentTypeResolver.mapper.put( "image/x-rgb", "rgb" );
-        ContentTypeResolver.mapper.put( "image/x-tga", "tga" );
-        ContentTypeResolver.mapper.put( "image/x-xbitmap", "xbm" );
-        ContentTypeResolver.mapper.put( "image/x-xpixmap", "xpm" );
-        ContentTypeResolver.mapper.put( "image/x-xwindowdump", "xwd" );
-        ContentTypeResolver.mapper.put( "message/rfc822", "eml" );
-        ContentTypeResolver.mapper.put( "model/iges", "igs" );
-        ContentTypeResolver.mapper.put( "model/mesh", "msh" );
-        ContentTypeResolver.mapper.put( "model/vnd.collada+xml", "dae" );
-        ContentTypeResolver.mapper.put( "model/vnd.dwf", "dwf" );
-        ContentTypeResolver.mapper.put( "model/vnd.gdl", "gdl" );
-        ContentTypeResolver.mapper.put( "model/vnd.gtw", "gtw" );
-        ContentTypeResolver.mapper.put( "model/vnd.mts", "mts" );
-        ContentTypeResolver.mapper.put( "model/vnd.vtu", "vtu" );
-        ContentTypeResolver.mapper.put( "model/vrml", "wrl" );
-        ContentTypeResolver.mapper.put( "model/x3d+binary", "x3db" );
-        ContentTypeResolver.mapper.put( "model/x3d+vrml", "x3dv" );
-        ContentTypeResolver.mapper.put( "model/x3d+xml", "x3d" );
-        ContentTypeResolver.mapper.put( "text/cache-manifest", "appcache" );
-        ContentTypeResolver.mapper.put( "text/calendar", "ics" );
-        ContentTypeResolver.mapper.put( "text/css", "css" );
-        ContentTypeResolver.mapper.put( "text/csv", "csv" );
-        ContentTypeResolver.mapper.put( "text/html", "html" );
-        ContentTypeResolver.mapper.put( "text/n3", "n3" );
-        ContentTypeResolver.mapper.put( "text/plain", "txt" );
-        ContentTypeResolver.mapper.put( "text/prs.lines.tag", "dsc" );
-        ContentTypeResolver.mapper.put( "text/richtext", "rtx" );
-        ContentTypeResolver.mapper.put( "text/rtf", "rtf" );
-        ContentTypeResolver.mapper.put( "text/sgml", "sgml" );
-        ContentTypeResolver.mapper.put( "text/tab-separated-values", "tsv" );
-        ContentTypeResolver.mapper.put( "text/troff", "t" );
-        ContentTypeResolver.mapper.put( "text/turtle", "ttl" );
-        ContentTypeResolver.mapper.put( "text/uri-list", "uri" );
-        ContentTypeResolver.mapper.put( "text/vcard", "vcard" );
-        ContentTypeResolver.mapper.put( "text/vnd.curl", "curl" );
-        ContentTypeResolver.mapper.put( "text/vnd.curl.dcurl", "dcurl" );
-        ContentTypeResolver.mapper.put( "text/vnd.curl.mcurl", "mcurl" );
-        ContentTypeResolver.mapper.put( "text/vnd.curl.scurl", "scurl" );
-        ContentTypeResolver.mapper.put( "text/vnd.dvb.subtitle", "sub" );
-        ContentTypeResolver.mapper.put( "text/vnd.fly", "fly" );
-        ContentTypeResolver.mapper.put( "text/vnd.fmi.flexstor", "flx" );
-        ContentTypeResolver.mapper.put( "text/vnd.graphviz", "gv" );
-        ContentTypeResolver.mapper.put( "text/vnd.in3d.3dml", "3dml" );
-        ContentTypeResolver.mapper.put( "text/vnd.in3d.spot", "spot" );
-        ContentTypeResolver.mapper.put( "text/vnd.sun.j2me.app-descriptor", "jad" );
-        ContentTypeResolver.mapper.put( "text/vnd.wap.wml", "wml" );
-        ContentTypeResolver.mapper.put( "text/vnd.wap.wmlscript", "wmls" );
-        ContentTypeResolver.mapper.put( "text/vtt", "vtt" );
-        ContentTypeResolver.mapper.put( "text/x-asm", "s" );
-        ContentTypeResolver.mapper.put( "text/x-c", "c" );
-        ContentTypeResolver.mapper.put( "text/x-fortran", "f" );
-        ContentTypeResolver.mapper.put( "text/x-java-source", "java" );
-        ContentTypeResolver.mapper.put( "text/x-nfo", "nfo" );
-        ContentTypeResolver.mapper.put( "text/x-opml", "opml" );
-        ContentTypeResolver.mapper.put( "text/x-pascal", "p" );
-        ContentTypeResolver.mapper.put( "text/x-setext", "etx" );
-        ContentTypeResolver.mapper.put( "text/x-sfv", "sfv" );
-        ContentTypeResolver.mapper.put( "text/x-uuencode", "uu" );
-        ContentTypeResolver.mapper.put( "text/x-vcalendar", "vcs" );
-        ContentTypeResolver.mapper.put( "text/x-vcard", "vcf" );
-        ContentTypeResolver.mapper.put( "video/3gpp", "3gp" );
-        ContentTypeResolver.mapper.put( "video/3gpp2", "3g2" );
-        ContentTypeResolver.mapper.put( "video/h261", "h261" );
-        ContentTypeResolver.mapper.put( "video/h263", "h263" );
-        ContentTypeResolver.mapper.put( "video/h264", "h264" );
-        ContentTypeResolver.mapper.put( "video/jpeg", "jpgv" );
-        ContentTypeResolver.mapper.put( "video/jpm", "jpm" );
-        ContentTypeResolver.mapper.put( "video/mj2", "mj2" );
-        ContentTypeResolver.mapper.put( "video/mp4", "mp4" );
-        ContentTypeResolver.mapper.put( "video/mpeg", "mpeg" );
-        ContentTypeResolver.mapper.put( "video/ogg", "ogv" );
-        ContentTypeResolver.mapper.put( "video/quicktime", "qt" );
-        ContentTypeResolver.mapper.put( "video/vnd.dece.hd", "uvh" );
-        ContentTypeResolver.mapper.put( "video/vnd.dece.mobile", "uvm" );
-        ContentTypeResolver.mapper.put( "video/vnd.dece.pd", "uvp" );
-        ContentTypeResolver.mapper.put( "video/vnd.dece.sd", "uvs" );
-        ContentTypeResolver.mapper.put( "video/vnd.dece.video", "uvv" );
-        ContentTypeResolver.mapper.put( "video/vnd.dvb.file", "dvb" );
-        ContentTypeResolver.mapper.put( "video/vnd.fvt", "fvt" );
-        ContentTypeResolver.mapper.put( "video/vnd.mpegurl", "mxu" );
-        ContentTypeResolver.mapper.put( "video/vnd.ms-playready.media.pyv", "pyv" );
-        ContentTypeResolver.mapper.put( "video/vnd.uvvu.mp4", "uvu" );
-        ContentTypeResolver.mapper.put( "video/vnd.vivo", "viv" );
-        ContentTypeResolver.mapper.put( "video/webm", "webm" );
-        ContentTypeResolver.mapper.put( "video/x-f4v", "f4v" );
-        ContentTypeResolver.mapper.put( "video/x-fli", "fli" );
-        ContentTypeResolver.mapper.put( "video/x-flv", "flv" );
-        ContentTypeResolver.mapper.put( "video/x-m4v", "m4v" );
-        ContentTypeResolver.mapper.put( "video/x-matroska", "mkv" );
-        ContentTypeResolver.mapper.put( "video/x-mng", "mng" );
-        ContentTypeResolver.mapper.put( "video/x-ms-asf", "asf" );
-        ContentTypeResolver.mapper.put( "video/x-ms-vob", "vob" );
-        ContentTypeResolver.mapper.put( "video/x-ms-wm", "wm" );
-        ContentTypeResolver.mapper.put( "video/x-ms-wmv", "wmv" );
-        ContentTypeResolver.mapper.put( "video/x-ms-wmx", "wmx" );
-        ContentTypeResolver.mapper.put( "video/x-ms-wvx", "wvx" );
-        ContentTypeResolver.mapper.put( "video/x-msvideo", "avi" );
-        ContentTypeResolver.mapper.put( "video/x-sgi-movie", "movie" );
-        ContentTypeResolver.mapper.put( "video/x-smv", "smv" );
-        ContentTypeResolver.mapper.put( "x-conference/x-cooltalk", "ice" );
+        return slot == -1 ? List.of() : ContentTypeTables.extensionTypes( slot );
     }
 
-    public static String getContentType( final String extension ) {
-        if ( ContentTypeResolver.mapper.containsValue( extension ) ) {
-            for ( final Map.Entry< String, String > entry : ContentTypeResolver.mapper.entrySet() ) {
-                if ( entry.getValue() == extension ) {
-                    return entry.getKey();
-                }
-            }
+
+    /**
+     * @param contentType Content type, parameters are ignored (<code>text/html; charset=UTF-8</code>)
+     * @return Extension, null if unknown
+     */
+    public static String getExtension( final String contentType ) {
+        if ( contentType == null ) {
+            return null;
+        }
+
+        final int semicolon = contentType.indexOf( ';' );
+        int       from      = 0;
+        int       to        = semicolon == -1 ? contentType.length() : semicolon;
+
+        while ( from < to && contentType.charAt( from ) <= ' ' ) {
+            from++;
+        }
+
+        while ( to > from && contentType.charAt( to - 1 ) <= ' ' ) {
+            to--;
         }
 
-        return null;
+        final int slot = ContentTypeTables.typeSlot( contentType, from, to );
+
+        return slot == -1 ? null : ContentTypeTables.typeExtension( slot );
     }
 
 
-    public static String getExtension( final String contentType ) {
-        return ContentTypeResolver.mapper.get( contentType );
+    /**
+     * The leading dot is skipped by index, the tables hash and compare the range without copying it
+     */
+    private static int extensionSlot( final String extension ) {
+        if ( extension == null ) {
+            return -1;
+        }
+
+        return ContentTypeTables.extensionSlot( extension, extension.startsWith( "." ) ? 1 : 0, extension.length() );
     }
 }
@@ -0,0 +1,51 @@
+package org.romainlavabre.request;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Last conversion of each parameter, reused while the stored value and the target type are unchanged
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+class ConversionCache {
+
+    private final ParameterConverterRegistry registry;
+    private final Map< String, Conversion >  conversions;
+
+
+    ConversionCache( final ParameterConverterRegistry registry ) {
+        this.registry    = registry;
+        this.conversions = new HashMap<>();
+    }
+
+
+    < T > T convert( final String name, final Object value, final Class< T > type ) {
+        final Conversion conversion = this.conversions.get( name );
+
+        if ( conversion != null && conversion.source == value && conversion.type == type ) {
+            return ( T ) conversion.result;
+        }
+
+        final T result = this.registry.convert( value, type );
+
+        this.conversions.put( name, new Conversion( value, type, result ) );
+
+        return result;
+    }
+
+
+    private static final class Conversion {
+
+        private final Object     source;
+        private final Class< ? > type;
+        private final Object     result;
+
+
+        private Conversion( final Object source, final Class< ? > type, final Object result ) {
+            this.source = source;
+            this.type   = type;
+            this.result = result;
+        }
+    }
+}
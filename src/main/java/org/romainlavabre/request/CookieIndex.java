@@ -0,0 +1,81 @@
+package org.romainlavabre.request;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Cookie values by name, parsed from the raw <code>Cookie</code> headers (RFC 6265), the first occurrence wins
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+class CookieIndex {
+
+    private final Map< String, String > values;
+
+
+    private CookieIndex( final Map< String, String > values ) {
+        this.values = values;
+    }
+
+
+    static CookieIndex parse( final List< String > headers ) {
+        final Map< String, String > values = new LinkedHashMap<>();
+
+        for ( final String header : headers ) {
+            int start = 0;
+
+            while ( start < header.length() ) {
+                int end = header.indexOf( ';', start );
+
+                if ( end == -1 ) {
+                    end = header.length();
+                }
+
+                final int equals = header.indexOf( '=', start );
+
+                if ( equals != -1 && equals < end ) {
+                    final String name  = header.substring( start, equals ).trim();
+                    String       value = header.substring( equals + 1, end ).trim();
+
+                    if ( value.length() >= 2 && value.charAt( 0 ) == '"' && value.charAt( value.length() - 1 ) == '"' ) {
+                        value = value.substring( 1, value.length() - 1 );
+                    }
+
+                    if ( !name.isEmpty() ) {
+                        values.putIfAbsent( name, value );
+                    }
+                }
+
+                start = end + 1;
+            }
+        }
+
+        return new CookieIndex( values );
+    }
+
+
+    /**
+     * @return Cookie value, null if missing
+     */
+    String get( final String name ) {
+        return this.values.get( name );
+    }
+
+
+    /**
+     * Add or overwrite cookie
+     */
+    void put( final String name, final String value ) {
+        this.values.put( name, value );
+    }
+
+
+    /**
+     * @param action Called with each name and value, in header order
+     */
+    void forEach( final BiConsumer< String, String > action ) {
+        this.values.forEach( action );
+    }
+}
@@ -0,0 +1,80 @@
+package org.romainlavabre.request;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+@Service
+public class DefaultObjectMapperProvider implements ObjectMapperProvider {
+
+    private final ObjectMapper                    objectMapper;
+    private final Map< Class< ? >, ObjectReader > readers;
+
+
+    public DefaultObjectMapperProvider() {
+        this( new RequestConfiguration() );
+    }
+
+
+    @Autowired
+    public DefaultObjectMapperProvider( final RequestConfiguration configuration ) {
+        this( new JsonFactoryBuilder()
+                .configure( JsonFactory.Feature.CANONICALIZE_FIELD_NAMES, configuration.isCanonicalizeFieldNames() )
+                .configure( JsonFactory.Feature.INTERN_FIELD_NAMES, configuration.isInternFieldNames() )
+                .build() );
+    }
+
+
+    public DefaultObjectMapperProvider( final JsonFactory jsonFactory ) {
+        this.objectMapper = new ObjectMapper( jsonFactory );
+        this.readers      = new ConcurrentHashMap<>();
+
+        this.getReader( Object.class );
+        this.getReader( HashMap.class );
+    }
+
+
+    /**
+     * @return Provider with the default settings, shared by the instances built without Spring
+     */
+    public static DefaultObjectMapperProvider getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+
+    @Override
+    public ObjectMapper getObjectMapper() {
+        return this.objectMapper;
+    }
+
+
+    @Override
+    public JsonFactory getJsonFactory() {
+        return this.objectMapper.getFactory();
+    }
+
+
+    @Override
+    public ObjectReader getReader( final Class< ? > type ) {
+        return this.readers.computeIfAbsent( type, this.objectMapper::readerFor );
+    }
+
+
+    /**
+     * Built on first use only, the Spring context creates its own provider
+     */
+    private static final class DefaultHolder {
+
+        private static final DefaultObjectMapperProvider INSTANCE = new DefaultObjectMapperProvider();
+    }
+}
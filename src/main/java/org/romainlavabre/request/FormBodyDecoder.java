@@ -0,0 +1,42 @@
+package org.romainlavabre.request;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <code>application/x-www-form-urlencoded</code>, decoded while read.
+ * When the container already consumed the body (request.getParameter called by a filter), its parameters are used
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+final class FormBodyDecoder implements BodyDecoder {
+
+    @Override
+    public Collection< String > getMediaTypes() {
+        return List.of( "application/x-www-form-urlencoded" );
+    }
+
+
+    @Override
+    public void decode( final BodyContext context ) throws IOException {
+        final long read;
+
+        try ( final InputStream inputStream = context.getInputStream() ) {
+            read = context.getBodyParser().parseForm( inputStream, context.getCharset() );
+        }
+
+        if ( read == 0
+                && context.getNativeRequest() instanceof HttpServletRequest
+                && ( ( HttpServletRequest ) context.getNativeRequest() ).getContentLengthLong() > 0 ) {
+            ( ( HttpServletRequest ) context.getNativeRequest() ).getParameterMap().forEach( ( name, values ) -> {
+                for ( final String value : values ) {
+                    context.addParameter( name, value );
+                }
+            } );
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.romainlavabre.request;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Streaming <code>application/x-www-form-urlencoded</code> decoder, the body is read in small blocks
+ * and each pair is emitted as soon as it is complete
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+class FormUrlEncodedDecoder {
+
+    private final Charset charset;
+    private       byte[]  token;
+    private       int     length;
+    private       String  name;
+    private       int     percent;
+    private       byte    high;
+
+
+    FormUrlEncodedDecoder( final Charset charset ) {
+        this.charset = charset;
+        this.token   = new byte[ 64 ];
+    }
+
+
+    /**
+     * @param inputStream Body, not closed
+     * @param consumer    Receive each decoded pair (name, value)
+     * @return Number of bytes read
+     */
+    long decode( final InputStream inputStream, final BiConsumer< String, String > consumer ) throws IOException {
+        final byte[] block = new byte[ 4096 ];
+        long         total = 0;
+        int          read;
+
+        while ( ( read = inputStream.read( block ) ) != -1 ) {
+            total += read;
+
+            for ( int i = 0; i < read; i++ ) {
+                this.accept( block[ i ], consumer );
+            }
+        }
+
+        this.flushPercent();
+        this.emit( consumer );
+
+        return total;
+    }
+
+
+    private void accept( final byte b, final BiConsumer< String, String > consumer ) {
+        if ( this.percent > 0 ) {
+            final int digit = Character.digit( b, 16 );
+
+            if ( digit == -1 ) {
+                this.flushPercent();
+            } else if ( this.percent == 1 ) {
+                this.high    = b;
+                this.percent = 2;
+                return;
+            } else {
+                this.append( ( byte ) ( ( Character.digit( this.high, 16 ) << 4 ) + digit ) );
+                this.percent = 0;
+                return;
+            }
+        }
+
+        switch ( b ) {
+            case '&':
+                this.emit( consumer );
+                break;
+            case '=':
+                if ( this.name == null ) {
+                    this.name   = new String( this.token, 0, this.length, this.charset );
+                    this.length = 0;
+                } else {
+                    this.append( b );
+                }
+                break;
+            case '+':
+                this.append( ( byte ) ' ' );
+                break;
+            case '%':
+                this.percent = 1;
+                break;
+            default:
+                this.append( b );
+        }
+    }
+
+
+    /**
+     * Keep an incomplete escape sequence as sent
+     */
+    private void flushPercent() {
+        if ( this.percent == 0 ) {
+            return;
+        }
+
+        this.append( ( byte ) '%' );
+
+        if ( this.percent == 2 ) {
+            this.append( this.high );
+        }
+
+        this.percent = 0;
+    }
+
+
+    private void emit( final BiConsumer< String, String > consumer ) {
+        this.flushPercent();
+
+        if ( this.name == null && this.length == 0 ) {
+            return;
+        }
+
+        final String value = new String( this.token, 0, this.length, this.charset );
+
+        if ( this.name == null ) {
+            consumer.accept( value, "" );
+        } else {
+            consumer.accept( this.name, value );
+        }
+
+        this.name   = null;
+        this.length = 0;
+    }
+
+
+    private void append( final byte b ) {
+        if ( this.length == this.token.length ) {
+            this.token = Arrays.copyOf( this.token, this.length * 2 );
+        }
+
+        this.token[ this.length++ ] = b;
+    }
+}
@@ -0,0 +1,184 @@
+package org.romainlavabre.request;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.*;
+
+/**
+ * Case-insensitive index of the request headers, built once.
+ * Typed values are parsed on the first read and memoized
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+class HeaderIndex {
+
+    private static final Object ABSENT = new Object();
+
+    /**
+     * <code>Sunday, 06-Nov-94 08:49:37 GMT</code>, the two-digit year is read within 50 years from now (RFC 9110 5.6.7)
+     */
+    private static final DateTimeFormatter RFC_850 = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .appendPattern( "EEEE, dd-MMM-" )
+            .appendValueReduced( ChronoField.YEAR, 2, 2, Year.now( ZoneOffset.UTC ).getValue() - 49 )
+            .appendPattern( " HH:mm:ss zzz" )
+            .toFormatter( Locale.US );
+
+    /**
+     * <code>Sun Nov  6 08:49:37 1994</code>, in UTC
+     */
+    private static final DateTimeFormatter ASCTIME = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .appendPattern( "EEE MMM ppd HH:mm:ss yyyy" )
+            .toFormatter( Locale.US );
+
+    private final Map< String, List< String > > headers;
+    private final Map< String, Object >         longValues;
+    private final Map< String, Object >         dateValues;
+
+
+    HeaderIndex() {
+        this.headers    = new TreeMap<>( String.CASE_INSENSITIVE_ORDER );
+        this.longValues = new TreeMap<>( String.CASE_INSENSITIVE_ORDER );
+        this.dateValues = new TreeMap<>( String.CASE_INSENSITIVE_ORDER );
+    }
+
+
+    static HeaderIndex of( final HttpServletRequest request ) {
+        final HeaderIndex           headerIndex = new HeaderIndex();
+        final Enumeration< String > names       = request.getHeaderNames();
+
+        while ( names != null && names.hasMoreElements() ) {
+            final String                name   = names.nextElement();
+            final Enumeration< String > values = request.getHeaders( name );
+
+            while ( values.hasMoreElements() ) {
+                headerIndex.add( name, values.nextElement() );
+            }
+        }
+
+        return headerIndex;
+    }
+
+
+    static HeaderIndex of( final HttpHeaders headers ) {
+        final HeaderIndex headerIndex = new HeaderIndex();
+
+        headers.forEach( ( name, values ) -> values.forEach( value -> headerIndex.add( name, value ) ) );
+
+        return headerIndex;
+    }
+
+
+    void add( final String name, final String value ) {
+        this.headers.computeIfAbsent( name, key -> new ArrayList<>( 1 ) ).add( value );
+    }
+
+
+    /**
+     * Replace all the values of the header
+     */
+    void set( final String name, final String value ) {
+        final List< String > values = new ArrayList<>( 1 );
+        values.add( value );
+
+        this.headers.put( name, values );
+        this.longValues.remove( name );
+        this.dateValues.remove( name );
+    }
+
+
+    /**
+     * @return First value, null if missing
+     */
+    String get( final String name ) {
+        final List< String > values = this.headers.get( name );
+
+        return values == null ? null : values.get( 0 );
+    }
+
+
+    /**
+     * @return All values, empty if missing
+     */
+    List< String > getAll( final String name ) {
+        final List< String > values = this.headers.get( name );
+
+        return values == null ? List.of() : Collections.unmodifiableList( values );
+    }
+
+
+    Long getLong( final String name ) {
+        Object value = this.longValues.get( name );
+
+        if ( value == null ) {
+            value = parseLong( this.get( name ) );
+            this.longValues.put( name, value == null ? ABSENT : value );
+        }
+
+        return value == ABSENT ? null : ( Long ) value;
+    }
+
+
+    Instant getDate( final String name ) {
+        Object value = this.dateValues.get( name );
+
+        if ( value == null ) {
+            value = parseDate( this.get( name ) );
+            this.dateValues.put( name, value == null ? ABSENT : value );
+        }
+
+        return value == ABSENT ? null : ( Instant ) value;
+    }
+
+
+    /**
+     * @return Parsed value, null if missing or invalid
+     */
+    static Long parseLong( final String value ) {
+        if ( value == null ) {
+            return null;
+        }
+
+        try {
+            return Long.parseLong( value.trim() );
+        } catch ( NumberFormatException e ) {
+            return null;
+        }
+    }
+
+
+    /**
+     * The format is picked from the position of the comma, each value goes through a single formatter
+     *
+     * @return Parsed HTTP date (RFC 1123, or the obsolete RFC 850 and asctime formats), null if missing or invalid
+     */
+    static Instant parseDate( final String value ) {
+        if ( value == null ) {
+            return null;
+        }
+
+        final String date  = value.trim();
+        final int    comma = date.indexOf( ',' );
+
+        try {
+            if ( comma > 3 ) {
+                return ZonedDateTime.parse( date, RFC_850 ).toInstant();
+            }
+
+            if ( comma == -1 && !date.isEmpty() && Character.isLetter( date.charAt( 0 ) ) ) {
+                return LocalDateTime.parse( date, ASCTIME ).toInstant( ZoneOffset.UTC );
+            }
+
+            return ZonedDateTime.parse( date, DateTimeFormatter.RFC_1123_DATE_TIME ).toInstant();
+        } catch ( DateTimeParseException e ) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.romainlavabre.request;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <code>application/json</code> and every <code>+json</code> type
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+final class JsonBodyDecoder implements BodyDecoder {
+
+    @Override
+    public Collection< String > getMediaTypes() {
+        return List.of( "application/json", "+json" );
+    }
+
+
+    @Override
+    public void decode( final BodyContext context ) throws IOException {
+        try ( final JsonParser parser = context.createParser( context.getObjectMapperProvider().getJsonFactory() ) ) {
+            context.readJson( parser );
+        }
+    }
+}
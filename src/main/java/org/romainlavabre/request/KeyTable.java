@@ -0,0 +1,80 @@
+package org.romainlavabre.request;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Symbol table of flattened keys shared between requests, a repeated <code>parent_child</code> key resolves to the same
+ * instance without concatenation. Field names come from the client: long keys are never stored, and a full table is
+ * cleared rather than frozen, so random keys cannot disable the table for the life of the JVM
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+class KeyTable {
+
+    private static final KeyTable INSTANCE = new KeyTable( 16384 );
+
+    /**
+     * Longer keys are concatenated each time
+     */
+    static final int MAX_KEY_LENGTH = 64;
+
+    private final Map< String, Map< String, String > > keys;
+    private final AtomicInteger                        size;
+    private final int                                  capacity;
+
+
+    KeyTable( final int capacity ) {
+        this.keys     = new ConcurrentHashMap<>();
+        this.size     = new AtomicInteger();
+        this.capacity = capacity;
+    }
+
+
+    static KeyTable getInstance() {
+        return INSTANCE;
+    }
+
+
+    /**
+     * @param parent Flattened key of the parent
+     * @param child  Field name
+     * @return <code>parent_child</code>
+     */
+    String compose( final String parent, final String child ) {
+        final Map< String, String > children = this.keys.get( parent );
+
+        if ( children != null ) {
+            final String key = children.get( child );
+
+            if ( key != null ) {
+                return key;
+            }
+        }
+
+        final String key = parent + "_" + child;
+
+        if ( key.length() > MAX_KEY_LENGTH ) {
+            return key;
+        }
+
+        if ( this.size.incrementAndGet() > this.capacity ) {
+            // Flooded: start over, the keys in use are back after a few requests. The size is approximate under contention
+            this.keys.clear();
+            this.size.set( 1 );
+        }
+
+        final String previous = this.keys
+                .computeIfAbsent( parent, ignored -> new ConcurrentHashMap<>() )
+                .putIfAbsent( child, key );
+
+        if ( previous != null ) {
+            this.size.decrementAndGet();
+
+            return previous;
+        }
+
+        return key;
+    }
+}
@@ -0,0 +1,66 @@
+package org.romainlavabre.request;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.Part;
+import org.romainlavabre.request.exception.Http400Exception;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * <code>multipart/form-data</code>, parts are streamed into the parameters and never retained.
+ * When the container already parsed the body (multipart resolver enabled), its parts are used
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+final class MultipartBodyDecoder implements BodyDecoder {
+
+    @Override
+    public Collection< String > getMediaTypes() {
+        return List.of( "multipart/form-data" );
+    }
+
+
+    @Override
+    public boolean isRetainable() {
+        return false;
+    }
+
+
+    @Override
+    public void decode( final BodyContext context ) throws IOException {
+        final String boundary = MultipartParser.getBoundary( context.getContentType() );
+
+        if ( boundary == null || boundary.isEmpty() ) {
+            throw new Http400Exception( "INVALID_MULTIPART_BODY" );
+        }
+
+        final long read;
+
+        try ( final InputStream inputStream = context.getInputStream() ) {
+            read = context.getBodyParser().parseMultipart( inputStream, boundary, context.getCharset() );
+        }
+
+        if ( read == 0
+                && context.getNativeRequest() instanceof HttpServletRequest
+                && ( ( HttpServletRequest ) context.getNativeRequest() ).getContentLengthLong() > 0 ) {
+            this.addContainerParts( context, ( HttpServletRequest ) context.getNativeRequest() );
+        }
+    }
+
+
+    private void addContainerParts( final BodyContext context, final HttpServletRequest request ) throws IOException {
+        try {
+            for ( final Part part : request.getParts() ) {
+                try ( final InputStream inputStream = part.getInputStream() ) {
+                    context.getBodyParser().addPart( part.getName(), part.getSubmittedFileName(), part.getContentType(), inputStream, context.getCharset() );
+                }
+            }
+        } catch ( ServletException e ) {
+            throw new Http400Exception( "INVALID_MULTIPART_BODY" );
+        }
+    }
+}
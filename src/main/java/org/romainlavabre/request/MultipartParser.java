@@ -0,0 +1,292 @@
+package org.romainlavabre.request;
+
+import org.romainlavabre.request.exception.Http400Exception;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Streaming <code>multipart/form-data</code> parser (RFC 7578).
+ * Part contents are written to the listener as they are read, only a small window is kept to detect the boundary
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+class MultipartParser {
+
+    private static final int BUFFER_SIZE = 16384;
+
+    private final InputStream inputStream;
+    private final byte[]      delimiter;
+    private final byte[]      buffer;
+    private       int         position;
+    private       int         limit;
+    private       boolean     eof;
+    private       long        read;
+
+
+    MultipartParser( final InputStream inputStream, final String boundary ) {
+        this.inputStream = inputStream;
+        this.delimiter   = ( "\r\n--" + boundary ).getBytes( StandardCharsets.ISO_8859_1 );
+        this.buffer      = new byte[ BUFFER_SIZE ];
+
+        // The first delimiter has no leading CRLF
+        this.buffer[ 0 ] = '\r';
+        this.buffer[ 1 ] = '\n';
+        this.limit       = 2;
+    }
+
+
+    /**
+     * @param contentType Content-Type of the request
+     * @return Boundary parameter, null if missing
+     */
+    static String getBoundary( final String contentType ) {
+        for ( final String parameter : contentType.split( ";" ) ) {
+            final String trimmed = parameter.trim();
+
+            if ( trimmed.regionMatches( true, 0, "boundary=", 0, 9 ) ) {
+                return unquote( trimmed.substring( 9 ) );
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * @return Number of body bytes read, 0 for an empty body
+     */
+    long parse( final Listener listener ) throws IOException {
+        if ( !this.fill() ) {
+            return 0;
+        }
+
+        this.readUntilDelimiter( OutputStream.nullOutputStream() );
+
+        while ( true ) {
+            this.ensure( 2 );
+
+            if ( this.buffer[ this.position ] == '-' && this.buffer[ this.position + 1 ] == '-' ) {
+                return this.read;
+            }
+
+            this.readLine();
+
+            String name        = null;
+            String filename    = null;
+            String contentType = null;
+            String line;
+
+            while ( !( line = this.readLine() ).isEmpty() ) {
+                final int colon = line.indexOf( ':' );
+
+                if ( colon == -1 ) {
+                    continue;
+                }
+
+                final String headerName  = line.substring( 0, colon ).trim().toLowerCase( Locale.ROOT );
+                final String headerValue = line.substring( colon + 1 ).trim();
+
+                if ( headerName.equals( "content-disposition" ) ) {
+                    name     = getParameter( headerValue, "name" );
+                    filename = getParameter( headerValue, "filename*" );
+                    filename = filename != null ? decodeExtendedValue( filename ) : getParameter( headerValue, "filename" );
+                } else if ( headerName.equals( "content-type" ) ) {
+                    contentType = headerValue;
+                }
+            }
+
+            final OutputStream outputStream = listener.startPart( name, filename, contentType );
+
+            this.readUntilDelimiter( outputStream );
+
+            listener.endPart();
+        }
+    }
+
+
+    private void readUntilDelimiter( final OutputStream outputStream ) throws IOException {
+        while ( true ) {
+            final int found = this.indexOfDelimiter();
+
+            if ( found != -1 ) {
+                outputStream.write( this.buffer, this.position, found - this.position );
+                this.position = found + this.delimiter.length;
+                return;
+            }
+
+            final int safe = this.limit - this.delimiter.length + 1;
+
+            if ( safe > this.position ) {
+                outputStream.write( this.buffer, this.position, safe - this.position );
+                this.position = safe;
+            }
+
+            if ( !this.fill() ) {
+                throw new Http400Exception( "INVALID_MULTIPART_BODY" );
+            }
+        }
+    }
+
+
+    private int indexOfDelimiter() {
+        final int last = this.limit - this.delimiter.length;
+
+        outer:
+        for ( int i = this.position; i <= last; i++ ) {
+            if ( this.buffer[ i ] != this.delimiter[ 0 ] ) {
+                continue;
+            }
+
+            for ( int j = 1; j < this.delimiter.length; j++ ) {
+                if ( this.buffer[ i + j ] != this.delimiter[ j ] ) {
+                    continue outer;
+                }
+            }
+
+            return i;
+        }
+
+        return -1;
+    }
+
+
+    /**
+     * @return Header line in UTF-8, without CRLF
+     */
+    private String readLine() throws IOException {
+        while ( true ) {
+            for ( int i = this.position; i < this.limit - 1; i++ ) {
+                if ( this.buffer[ i ] == '\r' && this.buffer[ i + 1 ] == '\n' ) {
+                    final String line = new String( this.buffer, this.position, i - this.position, StandardCharsets.UTF_8 );
+                    this.position = i + 2;
+                    return line;
+                }
+            }
+
+            if ( !this.fill() ) {
+                throw new Http400Exception( "INVALID_MULTIPART_BODY" );
+            }
+        }
+    }
+
+
+    private void ensure( final int length ) throws IOException {
+        while ( this.limit - this.position < length ) {
+            if ( !this.fill() ) {
+                throw new Http400Exception( "INVALID_MULTIPART_BODY" );
+            }
+        }
+    }
+
+
+    /**
+     * Move the unread bytes to the start of the buffer and read more
+     *
+     * @return FALSE if nothing could be read
+     */
+    private boolean fill() throws IOException {
+        if ( this.eof ) {
+            return false;
+        }
+
+        if ( this.position > 0 ) {
+            System.arraycopy( this.buffer, this.position, this.buffer, 0, this.limit - this.position );
+            this.limit -= this.position;
+            this.position = 0;
+        }
+
+        if ( this.limit == this.buffer.length ) {
+            throw new Http400Exception( "INVALID_MULTIPART_BODY" );
+        }
+
+        final int count = this.inputStream.read( this.buffer, this.limit, this.buffer.length - this.limit );
+
+        if ( count == -1 ) {
+            this.eof = true;
+            return false;
+        }
+
+        this.limit += count;
+        this.read += count;
+
+        return true;
+    }
+
+
+    private static String getParameter( final String headerValue, final String name ) {
+        int index = 0;
+
+        while ( index < headerValue.length() ) {
+            int end = index;
+            boolean quoted = false;
+
+            while ( end < headerValue.length() && ( quoted || headerValue.charAt( end ) != ';' ) ) {
+                if ( headerValue.charAt( end ) == '"' ) {
+                    quoted = !quoted;
+                } else if ( quoted && headerValue.charAt( end ) == '\\' ) {
+                    end++;
+                }
+
+                end++;
+            }
+
+            final String parameter = headerValue.substring( index, Math.min( end, headerValue.length() ) ).trim();
+            final int    equals    = parameter.indexOf( '=' );
+
+            if ( equals != -1 && parameter.substring( 0, equals ).trim().equalsIgnoreCase( name ) ) {
+                return unquote( parameter.substring( equals + 1 ).trim() );
+            }
+
+            index = end + 1;
+        }
+
+        return null;
+    }
+
+
+    private static String unquote( final String value ) {
+        if ( value.length() < 2 || value.charAt( 0 ) != '"' || value.charAt( value.length() - 1 ) != '"' ) {
+            return value;
+        }
+
+        return value.substring( 1, value.length() - 1 ).replace( "\\\"", "\"" ).replace( "\\\\", "\\" );
+    }
+
+
+    /**
+     * RFC 5987 <code>UTF-8''file%20name.pdf</code>
+     */
+    private static String decodeExtendedValue( final String value ) {
+        final int quote = value.indexOf( "''" );
+
+        if ( quote == -1 ) {
+            return value;
+        }
+
+        try {
+            return URLDecoder.decode( value.substring( quote + 2 ).replace( "+", "%2B" ), value.substring( 0, quote ) );
+        } catch ( IllegalArgumentException | IOException e ) {
+            return value;
+        }
+    }
+
+
+    interface Listener {
+
+        /**
+         * @param name        Field name
+         * @param filename    File name, null for a simple field
+         * @param contentType Part content type, may be null
+         * @return Stream receiving the part content
+         */
+        OutputStream startPart( String name, String filename, String contentType ) throws IOException;
+
+
+        void endPart() throws IOException;
+    }
+}
@@ -0,0 +1,41 @@
+package org.romainlavabre.request;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Shared Jackson components used to parse request bodies.
+ * Declare a @Primary bean of this type to replace the default configuration
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+public interface ObjectMapperProvider {
+
+    /**
+     * @return Mapper shared between all requests
+     */
+    ObjectMapper getObjectMapper();
+
+
+    /**
+     * @return Factory of the shared mapper, used to create streaming parsers
+     */
+    JsonFactory getJsonFactory();
+
+
+    /**
+     * @param mediaType <code>application/x-jackson-smile</code> or <code>application/cbor</code>
+     * @return Factory of binary parsers, null if the data format module is missing
+     */
+    default JsonFactory getBinaryFactory( final String mediaType ) {
+        return BinaryFormats.getFactory( mediaType );
+    }
+
+
+    /**
+     * @param type Target type
+     * @return Thread-safe reader bound to the type, built once
+     */
+    ObjectReader getReader( Class< ? > type );
+}
@@ -0,0 +1,301 @@
+package org.romainlavabre.request;
+
+import org.romainlavabre.request.exception.Http500Exception;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.util.*;
+
+/**
+ * Bind the flattened parameters onto a record or a POJO (no-arg constructor and setters).
+ * The binding plan of each type is computed once, binding then only invokes the cached method handles.
+ * A property whose type has no converter is bound from the parameters prefixed by <code>key_</code>
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+final class ParameterBinder {
+
+    private static final ClassValue< BindingPlan > PLANS = new ClassValue<>() {
+        @Override
+        protected BindingPlan computeValue( final Class< ? > type ) {
+            return type.isRecord() ? recordPlan( type ) : beanPlan( type );
+        }
+    };
+
+
+    private ParameterBinder() {
+    }
+
+
+    static < T > T bind( final Map< String, Object > parameters, final Class< T > type ) {
+        return ( T ) PLANS.get( type ).bind( parameters, "" );
+    }
+
+
+    private static BindingPlan recordPlan( final Class< ? > type ) {
+        final RecordComponent[] components     = type.getRecordComponents();
+        final Property[]        properties     = new Property[ components.length ];
+        final Class< ? >[]      parameterTypes = new Class< ? >[ components.length ];
+
+        for ( int i = 0; i < components.length; i++ ) {
+            properties[ i ]     = new Property( components[ i ].getName(), components[ i ].getType(), components[ i ].getGenericType(), null );
+            parameterTypes[ i ] = components[ i ].getType();
+        }
+
+        try {
+            final MethodHandle constructor = lookup( type ).findConstructor( type, MethodType.methodType( void.class, parameterTypes ) );
+
+            return new BindingPlan(
+                    constructor.asType( constructor.type().generic() ).asSpreader( Object[].class, components.length ),
+                    properties,
+                    true );
+        } catch ( ReflectiveOperationException e ) {
+            throw new Http500Exception( "UNSUPPORTED_BINDING_TYPE" );
+        }
+    }
+
+
+    private static BindingPlan beanPlan( final Class< ? > type ) {
+        try {
+            final MethodHandles.Lookup lookup      = lookup( type );
+            final MethodHandle         constructor = lookup.findConstructor( type, MethodType.methodType( void.class ) );
+            final List< Property >     properties  = new ArrayList<>();
+
+            for ( final Method method : type.getMethods() ) {
+                if ( Modifier.isStatic( method.getModifiers() )
+                        || method.getParameterCount() != 1
+                        || method.getName().length() < 4
+                        || !method.getName().startsWith( "set" ) ) {
+                    continue;
+                }
+
+                final String name = Character.toLowerCase( method.getName().charAt( 3 ) ) + method.getName().substring( 4 );
+
+                properties.add( new Property(
+                        name,
+                        method.getParameterTypes()[ 0 ],
+                        method.getGenericParameterTypes()[ 0 ],
+                        lookup.unreflect( method ).asType( MethodType.methodType( void.class, Object.class, Object.class ) ) ) );
+            }
+
+            return new BindingPlan(
+                    constructor.asType( MethodType.methodType( Object.class ) ).asSpreader( Object[].class, 0 ),
+                    properties.toArray( new Property[ 0 ] ),
+                    false );
+        } catch ( ReflectiveOperationException e ) {
+            throw new Http500Exception( "UNSUPPORTED_BINDING_TYPE" );
+        }
+    }
+
+
+    private static MethodHandles.Lookup lookup( final Class< ? > type ) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn( type, MethodHandles.lookup() );
+    }
+
+
+    private static final class BindingPlan {
+
+        private final MethodHandle constructor;
+        private final Property[]   properties;
+        private final boolean      record;
+
+
+        private BindingPlan( final MethodHandle constructor, final Property[] properties, final boolean record ) {
+            this.constructor = constructor;
+            this.properties  = properties;
+            this.record      = record;
+        }
+
+
+        private Object bind( final Map< String, Object > parameters, final String prefix ) {
+            try {
+                if ( this.record ) {
+                    final Object[] arguments = new Object[ this.properties.length ];
+
+                    for ( int i = 0; i < this.properties.length; i++ ) {
+                        final Object value = this.properties[ i ].resolve( parameters, prefix );
+
+                        arguments[ i ] = value == null ? this.properties[ i ].getDefaultValue() : value;
+                    }
+
+                    return ( Object ) this.constructor.invokeExact( arguments );
+                }
+
+                final Object instance = ( Object ) this.constructor.invokeExact( new Object[ 0 ] );
+
+                for ( final Property property : this.properties ) {
+                    final Object value = property.resolve( parameters, prefix );
+
+                    if ( value != null ) {
+                        property.setter.invokeExact( instance, value );
+                    }
+                }
+
+                return instance;
+            } catch ( RuntimeException e ) {
+                throw e;
+            } catch ( Throwable throwable ) {
+                throw new Http500Exception( "UNSUPPORTED_BINDING_TYPE" );
+            }
+        }
+    }
+
+
+    private static final class Property {
+
+        private static final Map< Class< ? >, Class< ? > > WRAPPERS = Map.of(
+                boolean.class, Boolean.class,
+                byte.class, Byte.class,
+                short.class, Short.class,
+                int.class, Integer.class,
+                long.class, Long.class,
+                float.class, Float.class,
+                double.class, Double.class
+        );
+
+        private static final Map< Class< ? >, Object > DEFAULTS = Map.of(
+                boolean.class, false,
+                byte.class, ( byte ) 0,
+                short.class, ( short ) 0,
+                int.class, 0,
+                long.class, 0L,
+                float.class, 0f,
+                double.class, 0d
+        );
+
+        private final String[]     keys;
+        private final Class< ? >   type;
+        private final Class< ? >   valueType;
+        private final Class< ? >   elementType;
+        private final boolean      nested;
+        private final MethodHandle setter;
+
+
+        private Property( final String name, final Class< ? > type, final Type genericType, final MethodHandle setter ) {
+            final String snakeName = toSnakeCase( name );
+
+            this.keys        = snakeName.equals( name ) ? new String[]{name} : new String[]{name, snakeName};
+            this.type        = type;
+            this.valueType   = type.isPrimitive() ? WRAPPERS.get( type ) : type;
+            this.elementType = Collection.class.isAssignableFrom( type ) ? elementType( genericType ) : null;
+            this.nested      = this.elementType == null && isBindable( this.valueType );
+            this.setter      = setter;
+        }
+
+
+        private Object resolve( final Map< String, Object > parameters, final String prefix ) {
+            for ( final String key : this.keys ) {
+                final String name  = prefix.isEmpty() ? key : prefix + key;
+                final Object value = parameters.get( name );
+
+                if ( value != null && !"".equals( value ) ) {
+                    return this.convert( value );
+                }
+
+                if ( this.nested && this.hasPrefix( parameters, name + "_" ) ) {
+                    return PLANS.get( this.valueType ).bind( parameters, name + "_" );
+                }
+            }
+
+            return null;
+        }
+
+
+        /**
+         * @return Value of a missing record component, a missing bean property keeps its initial value
+         */
+        private Object getDefaultValue() {
+            return this.type.isPrimitive() ? DEFAULTS.get( this.type ) : null;
+        }
+
+
+        private Object convert( final Object value ) {
+            if ( this.elementType != null ) {
+                final Collection< Object > values   = Set.class.isAssignableFrom( this.type ) ? new LinkedHashSet<>() : new ArrayList<>();
+                final Collection< ? >      elements = value instanceof Collection ? ( Collection< ? > ) value : List.of( value );
+
+                for ( final Object element : elements ) {
+                    values.add( element == null ? null : this.convertElement( element, this.elementType ) );
+                }
+
+                return values;
+            }
+
+            return this.convertElement( value, this.valueType );
+        }
+
+
+        private Object convertElement( final Object value, final Class< ? > type ) {
+            if ( type == Object.class || type.isInstance( value ) ) {
+                return value;
+            }
+
+            if ( value instanceof Map && isBindable( type ) ) {
+                return PLANS.get( type ).bind( ( Map< String, Object > ) value, "" );
+            }
+
+            return ParameterConverterRegistry.getInstance().convert( value, type );
+        }
+
+
+        private boolean hasPrefix( final Map< String, Object > parameters, final String prefix ) {
+            if ( parameters instanceof ParameterMap ) {
+                return ( ( ParameterMap ) parameters ).hasPrefix( prefix );
+            }
+
+            for ( final String key : parameters.keySet() ) {
+                if ( key.startsWith( prefix ) ) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+
+        private static boolean isBindable( final Class< ? > type ) {
+            return !type.isPrimitive()
+                    && !type.isArray()
+                    && !type.isEnum()
+                    && !type.isInterface()
+                    && !type.getName().startsWith( "java." )
+                    && ParameterConverterRegistry.getInstance().find( type ) == null;
+        }
+
+
+        private static Class< ? > elementType( final Type genericType ) {
+            if ( genericType instanceof ParameterizedType ) {
+                final Type argument = ( ( ParameterizedType ) genericType ).getActualTypeArguments()[ 0 ];
+
+                if ( argument instanceof Class ) {
+                    return ( Class< ? > ) argument;
+                }
+
+                if ( argument instanceof ParameterizedType ) {
+                    return ( Class< ? > ) ( ( ParameterizedType ) argument ).getRawType();
+                }
+            }
+
+            return Object.class;
+        }
+
+
+        private static String toSnakeCase( final String name ) {
+            final StringBuilder snakeName = new StringBuilder( name.length() + 4 );
+
+            for ( int i = 0; i < name.length(); i++ ) {
+                final char character = name.charAt( i );
+
+                if ( Character.isUpperCase( character ) ) {
+                    snakeName.append( '_' ).append( Character.toLowerCase( character ) );
+                } else {
+                    snakeName.append( character );
+                }
+            }
+
+            return snakeName.toString();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.romainlavabre.request;
+
+/**
+ * Convert a stored parameter value (Jackson scalar, String, Map or List) to the target type.
+ * Any runtime exception thrown is reported as a bad parameter type
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+@FunctionalInterface
+public interface ParameterConverter< T > {
+
+    /**
+     * @param value Stored value, never null
+     * @return Converted value
+     */
+    T convert( Object value );
+}
@@ -0,0 +1,15 @@
+package org.romainlavabre.request;
+
+/**
+ * SPI to register application converters, declare implementations in
+ * <code>META-INF/services/org.romainlavabre.request.ParameterConverterProvider</code>
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+public interface ParameterConverterProvider {
+
+    /**
+     * @param registry Registry to fill
+     */
+    void register( ParameterConverterRegistry registry );
+}
@@ -0,0 +1,163 @@
+package org.romainlavabre.request;
+
+import org.romainlavabre.request.exception.Http400Exception;
+import org.romainlavabre.request.exception.Http422Exception;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converters used by {@link Request#getParameter(String, Class)}, keyed by target type.
+ * Enums are supported without registration through a name table computed once per enum
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+public class ParameterConverterRegistry {
+
+    private static final ClassValue< ParameterConverter< ? > > ENUM_CONVERTERS = new ClassValue<>() {
+        @Override
+        protected ParameterConverter< ? > computeValue( final Class< ? > type ) {
+            final Map< String, Object > constants = new HashMap<>();
+
+            for ( final Object constant : type.getEnumConstants() ) {
+                constants.put( ( ( Enum< ? > ) constant ).name(), constant );
+            }
+
+            return value -> {
+                final Object constant = constants.get( value.toString() );
+
+                if ( constant == null ) {
+                    throw new IllegalArgumentException( value.toString() );
+                }
+
+                return constant;
+            };
+        }
+    };
+
+    private static final ParameterConverterRegistry INSTANCE = new ParameterConverterRegistry();
+
+    private final Map< Class< ? >, ParameterConverter< ? > > converters;
+
+
+    ParameterConverterRegistry() {
+        this.converters = new ConcurrentHashMap<>();
+
+        this.register( String.class, Object::toString );
+        this.register( Byte.class, value -> value instanceof Byte ? ( Byte ) value : Byte.valueOf( value.toString() ) );
+        this.register( Short.class, value -> value instanceof Short ? ( Short ) value : Short.valueOf( value.toString() ) );
+        this.register( Integer.class, PrimitiveParameters::toInt );
+        this.register( Long.class, PrimitiveParameters::toLong );
+        this.register( Double.class, PrimitiveParameters::toDouble );
+        this.register( Float.class, value -> value instanceof Number ? ( ( Number ) value ).floatValue() : Float.valueOf( value.toString() ) );
+        this.register( Boolean.class, value -> value instanceof Boolean ? ( Boolean ) value : Boolean.valueOf( value.toString() ) );
+        this.register( BigDecimal.class, ParameterConverterRegistry::toBigDecimal );
+        this.register( BigInteger.class, ParameterConverterRegistry::toBigInteger );
+        this.register( UUID.class, value -> value instanceof UUID ? ( UUID ) value : UUID.fromString( value.toString() ) );
+        this.register( Instant.class, value -> value instanceof Number ? Instant.ofEpochMilli( ( ( Number ) value ).longValue() ) : Instant.parse( value.toString() ) );
+        this.register( LocalDate.class, value -> LocalDate.parse( value.toString() ) );
+
+        for ( final ParameterConverterProvider provider : ServiceLoader.load( ParameterConverterProvider.class ) ) {
+            provider.register( this );
+        }
+    }
+
+
+    /**
+     * @return Registry shared by all requests
+     */
+    public static ParameterConverterRegistry getInstance() {
+        return INSTANCE;
+    }
+
+
+    /**
+     * Add or overwrite the converter of a type
+     *
+     * @param type      Target type
+     * @param converter Converter
+     */
+    public < T > void register( final Class< T > type, final ParameterConverter< ? extends T > converter ) {
+        this.converters.put( type, converter );
+    }
+
+
+    /**
+     * @param type Target type
+     * @return Converter of the type, null if unsupported
+     */
+    public < T > ParameterConverter< T > find( final Class< T > type ) {
+        final ParameterConverter< ? > converter = this.converters.get( type );
+
+        if ( converter == null && type.isEnum() ) {
+            return ( ParameterConverter< T > ) ENUM_CONVERTERS.get( type );
+        }
+
+        return ( ParameterConverter< T > ) converter;
+    }
+
+
+    /**
+     * @param value Stored value, not null
+     * @param type  Target type
+     * @return Converted value
+     * @throws Http400Exception if the type is not supported
+     * @throws Http422Exception if the value cannot be converted
+     */
+    public < T > T convert( final Object value, final Class< T > type ) {
+        final ParameterConverter< T > converter = this.find( type );
+
+        if ( converter == null ) {
+            throw new Http400Exception( "UNSUPPORTED_PARAMETER_TYPE" );
+        }
+
+        try {
+            return converter.convert( value );
+        } catch ( Http422Exception e ) {
+            throw e;
+        } catch ( RuntimeException e ) {
+            throw new Http422Exception( "BAD_PARAMETER_TYPE" );
+        }
+    }
+
+
+    private static BigDecimal toBigDecimal( final Object value ) {
+        if ( value instanceof BigDecimal ) {
+            return ( BigDecimal ) value;
+        }
+
+        if ( value instanceof BigInteger ) {
+            return new BigDecimal( ( BigInteger ) value );
+        }
+
+        if ( value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte ) {
+            return BigDecimal.valueOf( ( ( Number ) value ).longValue() );
+        }
+
+        return new BigDecimal( value.toString() );
+    }
+
+
+    private static BigInteger toBigInteger( final Object value ) {
+        if ( value instanceof BigInteger ) {
+            return ( BigInteger ) value;
+        }
+
+        if ( value instanceof BigDecimal ) {
+            return ( ( BigDecimal ) value ).toBigIntegerExact();
+        }
+
+        if ( value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte ) {
+            return BigInteger.valueOf( ( ( Number ) value ).longValue() );
+        }
+
+        return new BigInteger( value.toString() );
+    }
+}
@@ -0,0 +1,220 @@
+package org.romainlavabre.request;
+
+import java.util.*;
+
+/**
+ * Parameter store, a hash map for direct lookups plus a sorted key index built on the first prefix query.
+ * Prefix queries are answered from a range of the index and return a read-only view, nothing is copied.
+ * A null key is accepted as by {@link HashMap} and never matches a prefix
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+public class ParameterMap extends AbstractMap< String, Object > {
+
+    private final Map< String, Object >          values;
+    private       TreeSet< String >              sortedKeys;
+    private       Set< Entry< String, Object > > entrySet;
+
+
+    public ParameterMap() {
+        this.values = new HashMap<>();
+    }
+
+
+    @Override
+    public int size() {
+        return this.values.size();
+    }
+
+
+    @Override
+    public boolean containsKey( final Object key ) {
+        return this.values.containsKey( key );
+    }
+
+
+    @Override
+    public Object get( final Object key ) {
+        return this.values.get( key );
+    }
+
+
+    @Override
+    public Object put( final String key, final Object value ) {
+        if ( this.sortedKeys != null && key != null && !this.values.containsKey( key ) ) {
+            this.sortedKeys.add( key );
+        }
+
+        return this.values.put( key, value );
+    }
+
+
+    @Override
+    public Object remove( final Object key ) {
+        if ( this.sortedKeys != null && key instanceof String ) {
+            this.sortedKeys.remove( key );
+        }
+
+        return this.values.remove( key );
+    }
+
+
+    @Override
+    public void clear() {
+        this.values.clear();
+        this.sortedKeys = null;
+    }
+
+
+    @Override
+    public Set< Entry< String, Object > > entrySet() {
+        if ( this.entrySet == null ) {
+            this.entrySet = new AbstractSet<>() {
+                @Override
+                public Iterator< Entry< String, Object > > iterator() {
+                    final Iterator< Entry< String, Object > > iterator = values.entrySet().iterator();
+
+                    return new Iterator<>() {
+                        private Entry< String, Object > current;
+
+
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+
+                        @Override
+                        public Entry< String, Object > next() {
+                            return this.current = iterator.next();
+                        }
+
+
+                        @Override
+                        public void remove() {
+                            iterator.remove();
+
+                            if ( sortedKeys != null && this.current.getKey() != null ) {
+                                sortedKeys.remove( this.current.getKey() );
+                            }
+                        }
+                    };
+                }
+
+
+                @Override
+                public int size() {
+                    return values.size();
+                }
+            };
+        }
+
+        return this.entrySet;
+    }
+
+
+    /**
+     * @param prefix Prefix of parameter name
+     * @return Read-only view of the parameters starting with the prefix, keyed without the prefix
+     */
+    public Map< String, Object > withPrefix( final String prefix ) {
+        return new PrefixView( prefix, this.keysWithPrefix( prefix ) );
+    }
+
+
+    /**
+     * @param prefix Prefix of parameter name
+     * @return TRUE if at least one parameter starts with the prefix
+     */
+    public boolean hasPrefix( final String prefix ) {
+        return !this.keysWithPrefix( prefix ).isEmpty();
+    }
+
+
+    private NavigableSet< String > keysWithPrefix( final String prefix ) {
+        if ( this.sortedKeys == null ) {
+            this.sortedKeys = new TreeSet<>();
+
+            for ( final String key : this.values.keySet() ) {
+                if ( key != null ) {
+                    this.sortedKeys.add( key );
+                }
+            }
+        }
+
+        if ( prefix.isEmpty() ) {
+            return this.sortedKeys;
+        }
+
+        final char last = prefix.charAt( prefix.length() - 1 );
+
+        if ( last == Character.MAX_VALUE ) {
+            return this.sortedKeys.tailSet( prefix, true );
+        }
+
+        return this.sortedKeys.subSet( prefix, true, prefix.substring( 0, prefix.length() - 1 ) + ( char ) ( last + 1 ), false );
+    }
+
+
+    private class PrefixView extends AbstractMap< String, Object > {
+
+        private final String                 prefix;
+        private final NavigableSet< String > keys;
+
+
+        private PrefixView( final String prefix, final NavigableSet< String > keys ) {
+            this.prefix = prefix;
+            this.keys   = keys;
+        }
+
+
+        @Override
+        public int size() {
+            return this.keys.size();
+        }
+
+
+        @Override
+        public boolean containsKey( final Object key ) {
+            return key instanceof String && values.containsKey( this.prefix + key );
+        }
+
+
+        @Override
+        public Object get( final Object key ) {
+            return key instanceof String ? values.get( this.prefix + key ) : null;
+        }
+
+
+        @Override
+        public Set< Entry< String, Object > > entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator< Entry< String, Object > > iterator() {
+                    final Iterator< String > iterator = keys.iterator();
+
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+
+                        @Override
+                        public Entry< String, Object > next() {
+                            final String key = iterator.next();
+
+                            return new SimpleImmutableEntry<>( key.substring( prefix.length() ), values.get( key ) );
+                        }
+                    };
+                }
+
+
+                @Override
+                public int size() {
+                    return keys.size();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.romainlavabre.request;
+
+import org.romainlavabre.request.exception.Http422Exception;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Read primitives straight from the stored values (Jackson numbers, booleans or strings) without boxing
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+final class PrimitiveParameters {
+
+    private PrimitiveParameters() {
+    }
+
+
+    /**
+     * @return TRUE if the value must be considered as not provided
+     */
+    static boolean isAbsent( final Object value ) {
+        return value == null || ( value instanceof String && ( ( String ) value ).isEmpty() );
+    }
+
+
+    static int toInt( final Object value ) {
+        try {
+            if ( value instanceof Integer || value instanceof Short || value instanceof Byte ) {
+                return ( ( Number ) value ).intValue();
+            }
+
+            if ( value instanceof String ) {
+                return Integer.parseInt( ( String ) value );
+            }
+
+            return Math.toIntExact( toLong( value ) );
+        } catch ( ArithmeticException | NumberFormatException e ) {
+            throw new Http422Exception( "BAD_PARAMETER_TYPE" );
+        }
+    }
+
+
+    static long toLong( final Object value ) {
+        try {
+            if ( value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte ) {
+                return ( ( Number ) value ).longValue();
+            }
+
+            if ( value instanceof String ) {
+                return Long.parseLong( ( String ) value );
+            }
+
+            if ( value instanceof BigInteger ) {
+                return ( ( BigInteger ) value ).longValueExact();
+            }
+
+            if ( value instanceof BigDecimal ) {
+                return ( ( BigDecimal ) value ).longValueExact();
+            }
+
+            if ( value instanceof Double || value instanceof Float ) {
+                final double doubleValue = ( ( Number ) value ).doubleValue();
+
+                if ( doubleValue == ( long ) doubleValue ) {
+                    return ( long ) doubleValue;
+                }
+            }
+        } catch ( ArithmeticException | NumberFormatException e ) {
+            throw new Http422Exception( "BAD_PARAMETER_TYPE" );
+        }
+
+        throw new Http422Exception( "BAD_PARAMETER_TYPE" );
+    }
+
+
+    static double toDouble( final Object value ) {
+        if ( value instanceof Number ) {
+            return ( ( Number ) value ).doubleValue();
+        }
+
+        if ( value instanceof String ) {
+            try {
+                return Double.parseDouble( ( String ) value );
+            } catch ( NumberFormatException e ) {
+                throw new Http422Exception( "BAD_PARAMETER_TYPE" );
+            }
+        }
+
+        throw new Http422Exception( "BAD_PARAMETER_TYPE" );
+    }
+
+
+    static boolean toBoolean( final Object value ) {
+        if ( value instanceof Boolean ) {
+            return ( Boolean ) value;
+        }
+
+        if ( value instanceof String ) {
+            return Boolean.parseBoolean( ( String ) value );
+        }
+
+        throw new Http422Exception( "BAD_PARAMETER_TYPE" );
+    }
+}
@@ -0,0 +1,130 @@
+package org.romainlavabre.request;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Multi-valued index of the raw query string, parsed once.
+ * Values are kept as offsets in the raw string and percent-decoded only when read
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+class QueryStringIndex {
+
+    private static final int[] NO_OFFSETS = new int[ 0 ];
+
+    private final String                        raw;
+    private final Map< String, int[] >          offsets;
+    private final Map< String, List< String > > decoded;
+
+
+    private QueryStringIndex( final String raw ) {
+        this.raw     = raw;
+        this.offsets = new HashMap<>();
+        this.decoded = new HashMap<>();
+    }
+
+
+    static QueryStringIndex parse( final String raw ) {
+        final QueryStringIndex queryStringIndex = new QueryStringIndex( raw == null ? "" : raw );
+        final String           query            = queryStringIndex.raw;
+        int                    start            = 0;
+
+        while ( start < query.length() ) {
+            int end = query.indexOf( '&', start );
+
+            if ( end == -1 ) {
+                end = query.length();
+            }
+
+            if ( end > start ) {
+                int equals = query.indexOf( '=', start );
+
+                if ( equals == -1 || equals > end ) {
+                    equals = end;
+                }
+
+                final String name = decode( query.substring( start, equals ) );
+
+                queryStringIndex.addOffsets( name, equals == end ? end : equals + 1, end );
+            }
+
+            start = end + 1;
+        }
+
+        return queryStringIndex;
+    }
+
+
+    /**
+     * @return First value, null if missing
+     */
+    String get( final String name ) {
+        final List< String > values = this.getAll( name );
+
+        return values.isEmpty() ? null : values.get( 0 );
+    }
+
+
+    /**
+     * @return All values, empty if missing
+     */
+    List< String > getAll( final String name ) {
+        List< String > values = this.decoded.get( name );
+
+        if ( values != null ) {
+            return values;
+        }
+
+        final int[] valueOffsets = this.offsets.getOrDefault( name, NO_OFFSETS );
+
+        if ( valueOffsets.length == 0 ) {
+            return List.of();
+        }
+
+        final String[] array = new String[ valueOffsets.length / 2 ];
+
+        for ( int i = 0; i < array.length; i++ ) {
+            array[ i ] = decode( this.raw.substring( valueOffsets[ i * 2 ], valueOffsets[ i * 2 + 1 ] ) );
+        }
+
+        values = List.of( array );
+
+        this.decoded.put( name, values );
+
+        return values;
+    }
+
+
+    private void addOffsets( final String name, final int start, final int end ) {
+        final int[] current = this.offsets.get( name );
+
+        if ( current == null ) {
+            this.offsets.put( name, new int[]{start, end} );
+            return;
+        }
+
+        final int[] next = Arrays.copyOf( current, current.length + 2 );
+        next[ current.length ]     = start;
+        next[ current.length + 1 ] = end;
+
+        this.offsets.put( name, next );
+    }
+
+
+    /**
+     * @return Decoded value, the raw value when it is not valid percent-encoding
+     */
+    private static String decode( final String value ) {
+        if ( value.indexOf( '%' ) == -1 && value.indexOf( '+' ) == -1 ) {
+            return value;
+        }
+
+        try {
+            return URLDecoder.decode( value, StandardCharsets.UTF_8 );
+        } catch ( IllegalArgumentException e ) {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package org.romainlavabre.request;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.servlet.http.Cookie;
+import org.romainlavabre.request.exception.Http400Exception;
+import org.romainlavabre.request.exception.Http413Exception;
+import org.romainlavabre.request.exception.Http500Exception;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Request of a WebFlux exchange. The body is aggregated without blocking into pooled chunks, then parsed as {@link RequestImpl} does.
+ * A body above one chunk, an encoded body or a multipart body (files written to disk) is parsed on the bounded elastic scheduler
+ * <pre>
+ * return ReactiveRequest.with( exchange, configuration, objectMapperProvider, request -&gt; service.create( request ) );
+ * </pre>
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+public class ReactiveRequest extends AbstractRequest {
+
+    /**
+     * Size in bytes up to which a body is parsed on the event loop
+     */
+    private static final int INLINE_PARSE_SIZE = BodyBuffer.CHUNK_SIZE;
+
+    private final ServerHttpRequest    request;
+    private final RequestConfiguration configuration;
+    private final ObjectMapperProvider objectMapperProvider;
+    private final BodyParser           bodyParser;
+    private       BodyBuffer           bodyBuffer;
+    private       String               body;
+    private       boolean              parsing;
+    private       boolean              destroyed;
+
+
+    private ReactiveRequest( final ServerHttpRequest request, final RequestConfiguration configuration, final ObjectMapperProvider objectMapperProvider ) {
+        this.request              = request;
+        this.configuration        = configuration;
+        this.objectMapperProvider = objectMapperProvider;
+        this.bodyParser           = new BodyParser( this.parameters, configuration, objectMapperProvider );
+    }
+
+
+    /**
+     * The caller must {@link #destroy()} the request once handled, see {@link #with(ServerWebExchange, RequestConfiguration, ObjectMapperProvider, Function)}
+     *
+     * @return Request emitted once the body is read and parsed
+     */
+    public static Mono< ReactiveRequest > of( final ServerWebExchange exchange, final RequestConfiguration configuration, final ObjectMapperProvider objectMapperProvider ) {
+        return Mono.defer( () -> {
+            final ReactiveRequest reactiveRequest = new ReactiveRequest( exchange.getRequest(), configuration, objectMapperProvider );
+
+            return reactiveRequest.aggregate()
+                                  .then( Mono.defer( reactiveRequest::parse ) )
+                                  .thenReturn( reactiveRequest )
+                                  .doOnError( throwable -> reactiveRequest.destroy() )
+                                  .doOnCancel( reactiveRequest::destroy );
+        } );
+    }
+
+
+    /**
+     * Run the handler with the request and release it when the handler completes
+     */
+    public static < T > Mono< T > with( final ServerWebExchange exchange, final RequestConfiguration configuration, final ObjectMapperProvider objectMapperProvider, final Function< Request, Mono< T > > handler ) {
+        return Mono.usingWhen(
+                of( exchange, configuration, objectMapperProvider ),
+                handler::apply,
+                reactiveRequest -> Mono.fromRunnable( reactiveRequest::destroy ) );
+    }
+
+
+    /**
+     * Copy each data buffer into the pooled chunks and release it immediately.
+     * The body is limited to request.body.max-size, the codecs limit (maxInMemorySize) does not apply to the raw body
+     */
+    private Mono< Void > aggregate() {
+        final long maxSize = this.configuration.getMaxBodySize();
+
+        if ( this.request.getHeaders().getContentLength() > maxSize ) {
+            return Mono.error( new Http413Exception( "BODY_TOO_LARGE" ) );
+        }
+
+        this.bodyBuffer = new BodyBuffer();
+
+        return this.request.getBody()
+                           .doOnNext( dataBuffer -> {
+                               try ( final DataBuffer.ByteBufferIterator iterator = dataBuffer.readableByteBuffers() ) {
+                                   // A cancel may destroy the request while a late buffer is written
+                                   synchronized ( this ) {
+                                       if ( this.destroyed ) {
+                                           return;
+                                       }
+
+                                       if ( ( long ) this.bodyBuffer.size() + dataBuffer.readableByteCount() > maxSize ) {
+                                           throw new Http413Exception( "BODY_TOO_LARGE" );
+                                       }
+
+                                       while ( iterator.hasNext() ) {
+                                           final ByteBuffer byteBuffer = iterator.next();
+
+                                           this.bodyBuffer.write( byteBuffer );
+                                       }
+                                   }
+                               } finally {
+                                   DataBufferUtils.release( dataBuffer );
+                               }
+                           } )
+                           .doOnDiscard( DataBuffer.class, DataBufferUtils::release )
+                           .then();
+    }
+
+
+    /**
+     * Only a small plain body is parsed on the event loop, a bigger one, an encoded one or a streamed one (multipart)
+     * is parsed on the bounded elastic scheduler
+     */
+    private Mono< Void > parse() {
+        final BodyDecoder decoder = BodyDecoderRegistry.getInstance().find( this.getContentType() );
+
+        if ( ( decoder != null && !decoder.isRetainable() )
+                || this.bodyBuffer.size() > INLINE_PARSE_SIZE
+                || ContentDecoding.isEncoded( this.getHeader( "Content-Encoding" ) ) ) {
+            return Mono.fromRunnable( () -> this.parseBody( decoder ) )
+                       .subscribeOn( Schedulers.boundedElastic() )
+                       .then();
+        }
+
+        return Mono.fromRunnable( () -> this.parseBody( decoder ) );
+    }
+
+
+    /**
+     * A {@link #destroy()} received meanwhile (cancel) is deferred to the end of the parse, the chunks and the files are still read
+     *
+     * @param decoder Decoder of the media type, null to only keep the body readable
+     */
+    private void parseBody( final BodyDecoder decoder ) {
+        synchronized ( this ) {
+            if ( this.destroyed ) {
+                return;
+            }
+
+            this.parsing = true;
+        }
+
+        try {
+            this.decodeBody();
+
+            if ( decoder != null ) {
+                decoder.decode( new BodyContext( new BufferedBodySource(), this.bodyParser, decoder.isRetainable(), this.getContentType(), this.getBodyCharset(), this.request ) );
+            }
+
+            if ( !this.configuration.isRetainBody() || ( decoder != null && !decoder.isRetainable() ) ) {
+                this.bodyBuffer.release();
+                this.bodyBuffer = null;
+            }
+        } catch ( JsonProcessingException e ) {
+            throw new Http400Exception( "INVALID_JSON_BODY" );
+        } catch ( IOException e ) {
+            throw new Http500Exception( "INTERNAL_SERVER_ERROR" );
+        } finally {
+            final boolean destroyed;
+
+            synchronized ( this ) {
+                this.parsing = false;
+                destroyed    = this.destroyed;
+            }
+
+            if ( destroyed ) {
+                this.releaseResources();
+            }
+        }
+    }
+
+
+    /**
+     * Replace the aggregated body by its decoded form, limited to request.body.max-decoded-size
+     */
+    private void decodeBody() throws IOException {
+        final String contentEncoding = this.getHeader( "Content-Encoding" );
+
+        if ( !ContentDecoding.isEncoded( contentEncoding ) ) {
+            return;
+        }
+
+        final BodyBuffer encoded = this.bodyBuffer;
+        this.bodyBuffer = null;
+
+        try ( final InputStream inputStream = ContentDecoding.decode( encoded.openStream(), contentEncoding, this.configuration.getMaxDecodedSize() ) ) {
+            this.bodyBuffer = BodyBuffer.read( inputStream );
+        } finally {
+            encoded.release();
+        }
+    }
+
+
+    /**
+     * Give the body chunks back to the pool and delete the temporary files.
+     * Safe to call several times and from any thread, during a parse the resources are released by the parse once done
+     */
+    public void destroy() {
+        synchronized ( this ) {
+            if ( this.destroyed ) {
+                return;
+            }
+
+            this.destroyed = true;
+
+            if ( this.parsing ) {
+                return;
+            }
+        }
+
+        this.releaseResources();
+    }
+
+
+    private void releaseResources() {
+        if ( this.bodyBuffer != null ) {
+            this.bodyBuffer.release();
+            this.bodyBuffer = null;
+        }
+
+        this.bodyParser.release();
+    }
+    @Override
+    HeaderIndex createHeaderIndex() {
+        return HeaderIndex.of( this.request.getHeaders() );
+    }
+
+
+    @Override
+    RequestMetadata createMetadata() {
+        return RequestMetadata.of( this.request );
+    }
+
+
+    /**
+     * @return Body, null if request.body.retain is FALSE
+     */
+    @Override
+    public String getBody() {
+        if ( this.body == null && this.bodyBuffer != null ) {
+            this.body = this.bodyBuffer.toString( this.getBodyCharset() );
+        }
+
+        return this.body;
+    }
+
+
+    /**
+     * Needs the servlet API at runtime, prefer {@link #getCookieValue(String)}. A cookie whose name is rejected by {@link Cookie} is skipped
+     */
+    @Override
+    public Cookie[] getCookies() {
+        final List< Cookie > cookies = new ArrayList<>();
+
+        for ( final List< HttpCookie > values : this.request.getCookies().values() ) {
+            for ( final HttpCookie httpCookie : values ) {
+                final Cookie cookie = toCookie( httpCookie.getName(), httpCookie.getValue() );
+
+                if ( cookie != null ) {
+                    cookies.add( cookie );
+                }
+            }
+        }
+
+        return cookies.toArray( new Cookie[ 0 ] );
+    }
+
+
+    /**
+     * @return Charset declared by the Content-Type, UTF-8 otherwise
+     */
+    private Charset getBodyCharset() {
+        return BodyParser.getCharset( this.getContentType(), StandardCharsets.UTF_8 );
+    }
+
+
+    /**
+     * The body is always aggregated first
+     */
+    private class BufferedBodySource implements BodySource {
+
+        @Override
+        public InputStream openStream( final boolean retainable ) {
+            return ReactiveRequest.this.bodyBuffer.openStream();
+        }
+
+
+        @Override
+        public JsonParser createParser( final JsonFactory jsonFactory, final Charset charset, final boolean retainable ) throws IOException {
+            return ReactiveRequest.this.bodyBuffer.createParser( jsonFactory, charset );
+        }
+    }
+}
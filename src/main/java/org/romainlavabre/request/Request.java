@@ -2,8 +2,8 @@ package org.romainlavabre.request;
 
 import jakarta.servlet.http.Cookie;
 
-import java.util.List;
-import java.util.Map;
+import java.time.Instant;
+import java.util.*;
 
 public interface Request {
 
@@ -37,6 +37,111 @@ public interface Request {
     < T > T getParameter( String name, Class< T > type, boolean keepRawData );
 
 
+    /**
+     * @param name         Parameter name
+     * @param defaultValue Returned when the parameter is missing, null or empty
+     * @return Parameter as int, without boxing
+     */
+    default int getInt( final String name, final int defaultValue ) {
+        final Object value = this.getParameter( name );
+
+        return PrimitiveParameters.isAbsent( value ) ? defaultValue : PrimitiveParameters.toInt( value );
+    }
+
+
+    /**
+     * @param name Parameter name
+     * @return Parameter as int, empty when the parameter is missing, null or empty
+     */
+    default OptionalInt getOptionalInt( final String name ) {
+        final Object value = this.getParameter( name );
+
+        return PrimitiveParameters.isAbsent( value ) ? OptionalInt.empty() : OptionalInt.of( PrimitiveParameters.toInt( value ) );
+    }
+
+
+    /**
+     * @param name         Parameter name
+     * @param defaultValue Returned when the parameter is missing, null or empty
+     * @return Parameter as long, without boxing
+     */
+    default long getLong( final String name, final long defaultValue ) {
+        final Object value = this.getParameter( name );
+
+        return PrimitiveParameters.isAbsent( value ) ? defaultValue : PrimitiveParameters.toLong( value );
+    }
+
+
+    /**
+     * @param name Parameter name
+     * @return Parameter as long, empty when the parameter is missing, null or empty
+     */
+    default OptionalLong getOptionalLong( final String name ) {
+        final Object value = this.getParameter( name );
+
+        return PrimitiveParameters.isAbsent( value ) ? OptionalLong.empty() : OptionalLong.of( PrimitiveParameters.toLong( value ) );
+    }
+
+
+    /**
+     * @param name         Parameter name
+     * @param defaultValue Returned when the parameter is missing, null or empty
+     * @return Parameter as double, without boxing
+     */
+    default double getDouble( final String name, final double defaultValue ) {
+        final Object value = this.getParameter( name );
+
+        return PrimitiveParameters.isAbsent( value ) ? defaultValue : PrimitiveParameters.toDouble( value );
+    }
+
+
+    /**
+     * @param name Parameter name
+     * @return Parameter as double, empty when the parameter is missing, null or empty
+     */
+    default OptionalDouble getOptionalDouble( final String name ) {
+        final Object value = this.getParameter( name );
+
+        return PrimitiveParameters.isAbsent( value ) ? OptionalDouble.empty() : OptionalDouble.of( PrimitiveParameters.toDouble( value ) );
+    }
+
+
+    /**
+     * @param name         Parameter name
+     * @param defaultValue Returned when the parameter is missing, null or empty
+     * @return Parameter as boolean, without boxing
+     */
+    default boolean getBoolean( final String name, final boolean defaultValue ) {
+        final Object value = this.getParameter( name );
+
+        return PrimitiveParameters.isAbsent( value ) ? defaultValue : PrimitiveParameters.toBoolean( value );
+    }
+
+
+    /**
+     * @param name Parameter name
+     * @return Parameter as boolean, empty when the parameter is missing, null or empty
+     */
+    default Optional< Boolean > getOptionalBoolean( final String name ) {
+        final Object value = this.getParameter( name );
+
+        return PrimitiveParameters.isAbsent( value ) ? Optional.empty() : Optional.of( PrimitiveParameters.toBoolean( value ) );
+    }
+
+
+    /**
+     * Bind the parameters onto a record, or onto a class with a no-arg constructor and setters.
+     * A property <code>addressCity</code> reads <code>addressCity</code> then <code>address_city</code>,
+     * a property of a non-convertible type is bound from the parameters prefixed by its name
+     *
+     * @param type Target type
+     * @return New instance filled with the parameters
+     */
+    default < T > T bind( final Class< T > type ) {
+        return ParameterBinder.bind( this.getAllParameters(), type );
+    }
+
+
     /**
      * Add or overwrite parameter
      *
@@ -61,11 +166,21 @@ public interface Request {
 
     /**
      * @param prefix Prefix of parameter name
-     * @return All the parameters of the corp when the name of the parameter begins with the prefix
+     * @return Parameters of the corp when the name of the parameter begins with the prefix, the prefix is removed from the keys.
+     * The map is a mutable copy, see {@link #getParameterView(String)} for a view
      */
     Map< String, Object > getAllParameters( String prefix );
 
 
+    /**
+     * @param prefix Prefix of parameter name
+     * @return Read-only view of the parameters beginning with the prefix, the prefix is removed from the keys. Nothing is copied
+     */
+    default Map< String, Object > getParameterView( final String prefix ) {
+        return Collections.unmodifiableMap( this.getAllParameters( prefix ) );
+    }
+
+
     String getFormUrlEncodedParameter( String parameter );
 
 
@@ -79,6 +194,17 @@ public interface Request {
     String getQueryString( String name );
 
 
+    /**
+     * @param name Query string name
+     * @return All values associate to name, empty otherwise
+     */
+    default List< String > getQueryStrings( final String name ) {
+        final String value = this.getQueryString( name );
+
+        return value == null ? List.of() : List.of( value );
+    }
+
+
     /**
      * Add or overwrite query string
      *
@@ -133,6 +259,35 @@ public interface Request {
     String getHeader( String name );
 
 
+    /**
+     * @param name Header name, case-insensitive
+     * @return All values of the header, empty if missing
+     */
+    default List< String > getHeaders( final String name ) {
+        final String value = this.getHeader( name );
+
+        return value == null ? List.of() : List.of( value );
+    }
+
+
+    /**
+     * @param name Header name, case-insensitive
+     * @return Header as long (<code>Content-Length</code>...), null if missing or invalid
+     */
+    default Long getLongHeader( final String name ) {
+        return HeaderIndex.parseLong( this.getHeader( name ) );
+    }
+
+
+    /**
+     * @param name Header name, case-insensitive
+     * @return Header as HTTP date (<code>If-Modified-Since</code>...), null if missing or invalid
+     */
+    default Instant getDateHeader( final String name ) {
+        return HeaderIndex.parseDate( this.getHeader( name ) );
+    }
+
+
     /**
      * @return Content type
      */
@@ -166,6 +321,14 @@ public interface Request {
     String getMethod();
 
 
+    /**
+     * @return Request line and connection data, captured once
+     */
+    default RequestMetadata getMetadata() {
+        return new RequestMetadata( this.getMethod(), this.getScheme(), this.getHost(), this.getPort(), this.getUri(), this.getBaseUrl(), this.getClientIp(), this.getContentType(), this.getRawQueryString() );
+    }
+
+
     /**
      * @return Raw body
      */
@@ -176,4 +339,34 @@ public interface Request {
      * @return Cookies
      */
     Cookie[] getCookies();
+
+
+    /**
+     * @param name Cookie name
+     * @return Cookie, null if missing
+     */
+    default Cookie getCookie( final String name ) {
+        final Cookie[] cookies = this.getCookies();
+
+        if ( cookies != null ) {
+            for ( final Cookie cookie : cookies ) {
+                if ( cookie.getName().equals( name ) ) {
+                    return cookie;
+                }
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * @param name Cookie name
+     * @return Cookie value, null if missing
+     */
+    default String getCookieValue( final String name ) {
+        final Cookie cookie = this.getCookie( name );
+
+        return cookie == null ? null : cookie.getValue();
+    }
 }
@@ -0,0 +1,55 @@
+package org.romainlavabre.request;
+
+import org.springframework.aop.scope.ScopedObject;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Give the request straight to the handler method, without the request scoped proxy :
+ * <pre>
+ * &#64;Override
+ * public void addArgumentResolvers( List&lt; HandlerMethodArgumentResolver &gt; resolvers ) {
+ *     resolvers.add( requestArgumentResolver );
+ * }
+ *
+ * &#64;PostMapping( "/path" )
+ * public ResponseEntity&lt; ? &gt; create( Request request ) { ... }
+ * </pre>
+ * The argument is the target of the request scoped bean, the services injecting {@link Request} read the same instance
+ * (the body is only read once) and the request scope releases it
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+@Component
+public class RequestArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final Request request;
+
+
+    public RequestArgumentResolver( final Request request ) {
+        this.request = request;
+    }
+
+
+    @Override
+    public boolean supportsParameter( final MethodParameter parameter ) {
+        final Class< ? > type = parameter.getParameterType();
+
+        return type == Request.class || type == RequestImpl.class;
+    }
+
+
+    @Override
+    public Object resolveArgument( final MethodParameter parameter, final ModelAndViewContainer mavContainer, final NativeWebRequest webRequest, final WebDataBinderFactory binderFactory ) {
+        if ( this.request instanceof final ScopedObject scopedObject ) {
+            // Created in the request scope on first access, by this resolver or by the proxy
+            return scopedObject.getTargetObject();
+        }
+
+        return this.request;
+    }
+}
@@ -0,0 +1,218 @@
+package org.romainlavabre.request;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of request handling, resolved from the application properties.
+ * Declare a @Primary bean of this type to override them programmatically
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+@Component
+public class RequestConfiguration {
+
+    /**
+     * request.body.lazy, if TRUE the body is read and parsed on the first access to parameters, files or body
+     */
+    @Value( "${request.body.lazy:false}" )
+    private boolean lazyBody;
+
+    /**
+     * request.body.retain, if FALSE the body is streamed into the parameters without being kept and {@link Request#getBody()} returns null
+     */
+    @Value( "${request.body.retain:true}" )
+    private boolean retainBody = true;
+
+    /**
+     * request.body.async, if TRUE {@link AsyncBodyFilter} reads the body without blocking a worker thread before dispatching to the controller
+     */
+    @Value( "${request.body.async:false}" )
+    private boolean asyncBody;
+
+    /**
+     * request.body.async-timeout, milliseconds allowed to receive the whole body in async mode
+     */
+    @Value( "${request.body.async-timeout:30000}" )
+    private long asyncTimeout = 30000;
+
+    /**
+     * request.body.max-size, maximum size in bytes of a body buffered before the controller runs (async mode, reactive request)
+     * and of the simple fields of a multipart body, kept in memory unlike the files
+     */
+    @Value( "${request.body.max-size:52428800}" )
+    private long maxBodySize = 52428800;
+
+    /**
+     * request.body.max-decoded-size, maximum size in bytes of a body once its Content-Encoding (gzip, deflate, zstd) is undone
+     */
+    @Value( "${request.body.max-decoded-size:52428800}" )
+    private long maxDecodedSize = 52428800;
+
+    /**
+     * request.json.canonicalize-field-names, reuse field name instances between parsers through the symbol table
+     */
+    @Value( "${request.json.canonicalize-field-names:true}" )
+    private boolean canonicalizeFieldNames = true;
+
+    /**
+     * request.json.intern-field-names, intern canonicalized field names
+     */
+    @Value( "${request.json.intern-field-names:true}" )
+    private boolean internFieldNames = true;
+
+    /**
+     * request.json.flatten-depth, number of key segments produced by flattening (2 gives <code>parent_child</code>)
+     */
+    @Value( "${request.json.flatten-depth:2}" )
+    private int flattenDepth = 2;
+
+    /**
+     * request.upload.spool-threshold, size in bytes above which an uploaded file is moved to a temporary file
+     */
+    @Value( "${request.upload.spool-threshold:1048576}" )
+    private long spoolThreshold = 1048576;
+
+    /**
+     * request.upload.spool-directory, directory of temporary files, system temporary directory if empty
+     */
+    @Value( "${request.upload.spool-directory:}" )
+    private String spoolDirectory = "";
+
+
+    public boolean isLazyBody() {
+        return this.lazyBody;
+    }
+
+
+    public RequestConfiguration setLazyBody( final boolean lazyBody ) {
+        this.lazyBody = lazyBody;
+
+        return this;
+    }
+
+
+    public boolean isRetainBody() {
+        return this.retainBody;
+    }
+
+
+    public RequestConfiguration setRetainBody( final boolean retainBody ) {
+        this.retainBody = retainBody;
+
+        return this;
+    }
+
+
+    public boolean isAsyncBody() {
+        return this.asyncBody;
+    }
+
+
+    public RequestConfiguration setAsyncBody( final boolean asyncBody ) {
+        this.asyncBody = asyncBody;
+
+        return this;
+    }
+
+
+    public long getAsyncTimeout() {
+        return this.asyncTimeout;
+    }
+
+
+    public RequestConfiguration setAsyncTimeout( final long asyncTimeout ) {
+        this.asyncTimeout = asyncTimeout;
+
+        return this;
+    }
+
+
+    public long getMaxBodySize() {
+        return this.maxBodySize;
+    }
+
+
+    public RequestConfiguration setMaxBodySize( final long maxBodySize ) {
+        this.maxBodySize = maxBodySize;
+
+        return this;
+    }
+
+
+    public long getMaxDecodedSize() {
+        return this.maxDecodedSize;
+    }
+
+
+    public RequestConfiguration setMaxDecodedSize( final long maxDecodedSize ) {
+        this.maxDecodedSize = maxDecodedSize;
+
+        return this;
+    }
+
+
+    public boolean isCanonicalizeFieldNames() {
+        return this.canonicalizeFieldNames;
+    }
+
+
+    public RequestConfiguration setCanonicalizeFieldNames( final boolean canonicalizeFieldNames ) {
+        this.canonicalizeFieldNames = canonicalizeFieldNames;
+
+        return this;
+    }
+
+
+    public boolean isInternFieldNames() {
+        return this.internFieldNames;
+    }
+
+
+    public RequestConfiguration setInternFieldNames( final boolean internFieldNames ) {
+        this.internFieldNames = internFieldNames;
+
+        return this;
+    }
+
+
+    public int getFlattenDepth() {
+        return this.flattenDepth;
+    }
+
+
+    public RequestConfiguration setFlattenDepth( final int flattenDepth ) {
+        this.flattenDepth = flattenDepth;
+
+        return this;
+    }
+
+
+    public long getSpoolThreshold() {
+        return this.spoolThreshold;
+    }
+
+
+    public RequestConfiguration setSpoolThreshold( final long spoolThreshold ) {
+        this.spoolThreshold = spoolThreshold;
+
+        return this;
+    }
+
+
+    /**
+     * @return Directory of temporary files, NULL for the system temporary directory
+     */
+    public Path getSpoolDirectory() {
+        return this.spoolDirectory == null || this.spoolDirectory.isBlank() ? null : Path.of( this.spoolDirectory );
+    }
+
+
+    public RequestConfiguration setSpoolDirectory( final String spoolDirectory ) {
+        this.spoolDirectory = spoolDirectory;
+
+        return this;
+    }
+}
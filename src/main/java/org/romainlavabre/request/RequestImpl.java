@@ -1,396 +1,311 @@
 package org.romainlavabre.request;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import org.romainlavabre.request.exception.Http400Exception;
-import org.romainlavabre.request.exception.Http422Exception;
 import org.romainlavabre.request.exception.Http500Exception;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StreamUtils;
 import org.springframework.web.context.annotation.RequestScope;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.*;
 
 @Service
 @RequestScope
-public class RequestImpl implements Request {
+public class RequestImpl extends AbstractRequest implements DisposableBean {
 
-    private final HttpServletRequest    request;
-    private final Map< String, Object > parameters;
-    private final Map< String, String > queryStrings;
-    private       String                body;
+    private final HttpServletRequest   request;
+    private final RequestConfiguration configuration;
+    private final ObjectMapperProvider objectMapperProvider;
+    private final BodyParser           bodyParser;
+    private       BodyBuffer           bodyBuffer;
+    private       String               body;
+    private       boolean              bodyLoaded;
+    private       boolean              bodyBorrowed;
+    private       boolean              parsed;
 
 
     public RequestImpl() throws JsonProcessingException {
-        this.parameters   = new HashMap<>();
-        this.queryStrings = new HashMap<>();
-        this.request      = ( ( ServletRequestAttributes ) RequestContextHolder.getRequestAttributes() ).getRequest();
-        this.parseJson();
+        this( new RequestConfiguration(), DefaultObjectMapperProvider.getDefault() );
     }
 
 
-    @Override
-    public boolean containsParameter( final String name ) {
-        return this.parameters.containsKey( name );
+    @Autowired
+    public RequestImpl( final RequestConfiguration configuration, final ObjectMapperProvider objectMapperProvider ) throws JsonProcessingException {
+        this( ( ( ServletRequestAttributes ) RequestContextHolder.getRequestAttributes() ).getRequest(), configuration, objectMapperProvider );
     }
 
 
-    @Override
-    public Object getParameter( final String name ) {
-        return this.parameters.get( name );
-    }
+    /**
+     * Build outside of the request scope (manual wiring, tests)
+     */
+    public RequestImpl( final HttpServletRequest request, final RequestConfiguration configuration, final ObjectMapperProvider objectMapperProvider ) throws JsonProcessingException {
+        this.configuration        = configuration;
+        this.objectMapperProvider = objectMapperProvider;
+        this.bodyParser           = new BodyParser( this.parameters, configuration, objectMapperProvider );
+        this.request              = request;
 
+        if ( !configuration.isLazyBody() ) {
+            if ( configuration.isRetainBody() && this.isRetainable() ) {
+                this.loadBody();
+            }
 
-    @Override
-    public < T > T getParameter( String name, Class< T > type ) {
-        return getParameter( name, type, false );
+            this.parseBody();
+        }
     }
 
 
     @Override
-    public < T > T getParameter( String name, Class< T > type, boolean keepRawData ) {
-        if ( parameters.get( name ) == null ) {
-            return null;
-        }
-
-        if ( !keepRawData && parameters.get( name ) == "" ) {
-            return null;
-        }
-
-        try {
-            if ( String.class == type ) {
-                return ( T ) parameters.get( name ).toString();
-            }
-
-            if ( Byte.class == type ) {
-                return ( T ) Byte.valueOf( parameters.get( name ).toString() );
-            }
-
-            if ( Short.class == type ) {
-                return ( T ) Short.valueOf( parameters.get( name ).toString() );
-            }
-
-            if ( Integer.class == type ) {
-                return ( T ) Integer.valueOf( parameters.get( name ).toString() );
-            }
-
-            if ( Long.class == type ) {
-                return ( T ) Long.valueOf( parameters.get( name ).toString() );
-            }
-
-            if ( Double.class == type ) {
-                return ( T ) Double.valueOf( parameters.get( name ).toString() );
-            }
-
-            if ( Float.class == type ) {
-                return ( T ) Float.valueOf( parameters.get( name ).toString() );
-            }
+    public String getBody() {
+        this.loadBody();
 
-            if ( Boolean.class == type ) {
-                return ( T ) Boolean.valueOf( parameters.get( name ).toString() );
-            }
-        } catch ( ClassCastException classCastException ) {
-            throw new Http422Exception( "BAD_PARAMETER_TYPE" );
+        if ( this.body == null && this.bodyBuffer != null ) {
+            this.body = this.bodyBuffer.toString( this.getBodyCharset() );
         }
 
-        throw new Http400Exception( "UNSUPPORTED_PARAMETER_TYPE" );
-    }
-
-
-    @Override
-    public void setParameter( final String name, final Object value ) {
-        this.parameters.put( name, value );
+        return this.body;
     }
 
 
     @Override
-    public List< Object > getParameters( final String name ) {
-        return ( List< Object > ) this.parameters.get( name );
+    public Cookie[] getCookies() {
+        return request.getCookies();
     }
 
 
     @Override
-    public Map< String, Object > getAllParameters() {
-        return this.parameters;
+    HeaderIndex createHeaderIndex() {
+        return HeaderIndex.of( this.request );
     }
 
 
     @Override
-    public String getRawQueryString() {
-        return this.request.getQueryString();
+    RequestMetadata createMetadata() {
+        return RequestMetadata.of( this.request );
     }
 
 
     @Override
-    public Map< String, Object > getAllParameters( final String prefix ) {
-        final Map< String, Object > parameters = new HashMap<>();
-
-        for ( final Map.Entry< String, Object > entry : this.parameters.entrySet() ) {
-            if ( entry.getKey().startsWith( prefix ) ) {
-                parameters.put( entry.getKey().replaceFirst( prefix, "" ), entry.getValue() );
-            }
+    void ensureParsed() {
+        if ( this.parsed ) {
+            return;
         }
 
-        return parameters;
+        try {
+            this.parseBody();
+        } catch ( JsonProcessingException e ) {
+            throw new Http400Exception( "INVALID_JSON_BODY" );
+        }
     }
 
 
-    @Override
-    public String getFormUrlEncodedParameter( String parameter ) {
-        return request.getParameter( parameter );
-    }
+    private void loadBody() {
+        if ( this.bodyLoaded ) {
+            return;
+        }
 
+        this.bodyLoaded = true;
 
-    @Override
-    public String getQueryString( final String name ) {
-        if ( this.queryStrings.containsKey( name ) ) {
-            return this.queryStrings.get( name );
+        if ( this.configuration.isLazyBody() && !this.mayHaveBody() ) {
+            this.bodyBuffer = new BodyBuffer();
+            return;
         }
 
-        return this.request.getParameter( name );
-    }
-
+        final Object asyncBody = this.request.getAttribute( AsyncBodyFilter.ATTRIBUTE );
 
-    @Override
-    public void setQueryString( final String name, final String value ) {
-        this.queryStrings.put( name, value.toString() );
-    }
+        try {
+            if ( asyncBody instanceof BodyBuffer ) {
+                if ( ContentDecoding.isEncoded( this.getHeader( "Content-Encoding" ) ) ) {
+                    this.bodyBuffer = BodyBuffer.read( this.decodeBody( ( ( BodyBuffer ) asyncBody ).openStream() ) );
+                    return;
+                }
 
+                this.bodyBuffer   = ( BodyBuffer ) asyncBody;
+                this.bodyBorrowed = true;
+                return;
+            }
 
-    @Override
-    public UploadedFile getFile( final String name ) {
-        return ( UploadedFile ) this.parameters.get( name );
+            this.bodyBuffer = BodyBuffer.read( this.decodeBody( this.request.getInputStream() ) );
+        } catch ( IOException e ) {
+            // Client gone or connection reset mid-body, the partial chunks are already back in the pool
+            throw new Http400Exception( "INVALID_BODY" );
+        }
     }
 
 
+    /**
+     * Give the body chunks back to the pool and delete the temporary files once the request is completed
+     */
     @Override
-    public List< UploadedFile > getFiles( final String name ) {
-        return ( List< UploadedFile > ) this.parameters.get( name );
-    }
-
+    public void destroy() {
+        // A body read by AsyncBodyFilter is released by the filter
+        if ( this.bodyBuffer != null && !this.bodyBorrowed ) {
+            this.bodyBuffer.release();
+        }
 
-    @Override
-    public void setUploadedFile( final String name, final UploadedFile uploadedFile ) {
-        this.parameters.put( name, uploadedFile );
+        this.bodyBuffer = null;
+        this.bodyParser.release();
     }
 
 
-    @Override
-    public void addUploadedFile( final String name, final UploadedFile uploadedFile ) {
-        if ( this.parameters.get( name ) instanceof List ) {
-            final List< UploadedFile > uploadedFiles = ( List< UploadedFile > ) this.parameters.get( name );
+    /**
+     * A declared empty body never needs reading, and without any length the safe methods are considered bodyless
+     * (HTTP/2 may omit both Content-Length and Transfer-Encoding on a body, so other methods are still read)
+     *
+     * @return FALSE if the input stream cannot hold a body
+     */
+    private boolean mayHaveBody() {
+        final long contentLength = this.request.getContentLengthLong();
 
-            uploadedFiles.add( uploadedFile );
+        if ( contentLength >= 0 ) {
+            return contentLength > 0;
+        }
 
-            return;
+        if ( this.getHeader( "Transfer-Encoding" ) != null ) {
+            return true;
         }
 
-        this.parameters.put( name, uploadedFile );
+        switch ( this.request.getMethod() ) {
+            case "GET":
+            case "HEAD":
+            case "DELETE":
+            case "OPTIONS":
+            case "TRACE":
+                return false;
+            default:
+                return true;
+        }
     }
 
 
-    @Override
-    public String getClientIp() {
-        return this.request.getRemoteAddr();
-    }
-
+    /**
+     * Decode the body with the decoder registered for its media type, other bodies are only readable through {@link #getBody()}.
+     * The body path reads the native request, {@link #getMetadata()} resolves the remote host and the request URL
+     */
+    private void parseBody() throws JsonProcessingException {
+        this.parsed = true;
 
-    @Override
-    public String getHeader( final String name ) {
-        return this.request.getHeader( name );
-    }
+        final String      contentType = this.request.getContentType();
+        final BodyDecoder decoder     = BodyDecoderRegistry.getInstance().find( contentType );
 
+        if ( decoder == null ) {
+            return;
+        }
 
-    @Override
-    public String getContentType() {
-        return this.request.getContentType();
+        try {
+            decoder.decode( new BodyContext( new ServletBodySource(), this.bodyParser, decoder.isRetainable(), contentType, this.getBodyCharset(), this.request ) );
+        } catch ( JsonProcessingException e ) {
+            throw e;
+        } catch ( IOException e ) {
+            throw new Http500Exception( "INTERNAL_SERVER_ERROR" );
+        }
     }
 
 
-    @Override
-    public Integer getPort() {
-        return this.request.getServerPort();
-    }
-
+    private boolean isRetainable() {
+        final BodyDecoder decoder = BodyDecoderRegistry.getInstance().find( this.request.getContentType() );
 
-    @Override
-    public String getHost() {
-        return this.request.getRemoteHost();
+        return decoder == null || decoder.isRetainable();
     }
 
 
-    @Override
-    public String getScheme() {
-        return this.request.getScheme();
-    }
+    private InputStream openBufferedBodyStream() {
+        this.loadBody();
 
+        if ( this.bodyBuffer == null ) {
+            throw new Http500Exception( "INTERNAL_SERVER_ERROR" );
+        }
 
-    @Override
-    public String getUri() {
-        return this.request.getRequestURI();
+        return this.bodyBuffer.openStream();
     }
 
 
-    @Override
-    public String getBaseUrl() {
-        return this.request
-                .getRequestURL()
-                .toString()
-                .replaceAll( this.getUri(), "" );
-    }
-
+    /**
+     * Stream the body straight from the container without keeping it, {@link #getBody()} then returns null
+     */
+    private InputStream openBodyStream() throws IOException {
+        if ( this.request.getAttribute( AsyncBodyFilter.ATTRIBUTE ) != null ) {
+            return this.openBufferedBodyStream();
+        }
 
-    @Override
-    public String getMethod() {
-        return this.request.getMethod();
-    }
+        this.bodyLoaded = true;
 
+        if ( this.configuration.isLazyBody() && !this.mayHaveBody() ) {
+            return InputStream.nullInputStream();
+        }
 
-    @Override
-    public String getBody() {
-        return this.body;
+        return this.decodeBody( this.request.getInputStream() );
     }
 
 
-    @Override
-    public Cookie[] getCookies() {
-        return request.getCookies();
+    /**
+     * @return Stream undoing the Content-Encoding on the fly, limited to request.body.max-decoded-size
+     */
+    private InputStream decodeBody( final InputStream inputStream ) throws IOException {
+        return ContentDecoding.decode( inputStream, this.getHeader( "Content-Encoding" ), this.configuration.getMaxDecodedSize() );
     }
 
 
-    private void parseJson() throws JsonProcessingException {
+    /**
+     * @return Charset declared by the Content-Type, UTF-8 otherwise
+     */
+    private Charset getBodyCharset() {
+        final String characterEncoding = this.request.getCharacterEncoding();
 
-        try {
-            body = StreamUtils.copyToString( request.getInputStream(), StandardCharsets.UTF_8 );
-        } catch ( IOException e ) {
-            e.printStackTrace();
+        if ( characterEncoding == null ) {
+            return StandardCharsets.UTF_8;
         }
 
-        if ( this.request.getContentType() == null
-                || !this.request.getContentType().contains( "application/json" ) ) {
-            return;
+        try {
+            return Charset.forName( characterEncoding );
+        } catch ( IllegalArgumentException e ) {
+            return StandardCharsets.UTF_8;
         }
+    }
 
 
-        if ( body == null ) {
-
-            final StringBuffer json = new StringBuffer();
-
-
-            String         line   = null;
-            BufferedReader reader = null;
-
-            try {
-
-                reader = this.request.getReader();
+    /**
+     * The retained chunks when the body is kept (request.body.retain) or already loaded, the container stream otherwise
+     */
+    private class ServletBodySource implements BodySource {
 
-                while ( ( line = reader.readLine() ) != null ) {
-                    json.append( line );
-                }
-            } catch ( final IOException e ) {
-                e.printStackTrace();
-            } catch ( IllegalStateException e ) {
-                e.printStackTrace();
-                throw new Http500Exception( "INTERNAL_SERVER_ERROR" );
+        @Override
+        public InputStream openStream( final boolean retainable ) throws IOException {
+            if ( this.isBuffered( retainable ) ) {
+                return RequestImpl.this.openBufferedBodyStream();
             }
 
-            final String jsonStr = json.toString();
-
-            this.body = jsonStr;
-
-            if ( jsonStr.isBlank() ) {
-                return;
-            }
+            return RequestImpl.this.openBodyStream();
         }
 
-        final ObjectMapper objectMapper = new ObjectMapper();
-
-        final Map< String, Object > map = objectMapper.readValue( body, HashMap.class );
-
-        for ( final Map.Entry< String, Object > input : map.entrySet() ) {
-
-            if ( input.getKey().equals( "uploaded_file" ) ) {
-
-                for ( final Map.Entry< String, Map< String, Object > > entry : ( ( Map< String, Map< String, Object > > ) input.getValue() ).entrySet() ) {
-
-                    if ( entry.getValue() instanceof Map ) {
-                        this.setUploadedFile( entry.getKey(), this.getUploadedFile( entry.getValue() ) );
-                    }
-
-                    if ( entry.getValue() instanceof List ) {
-                        for ( final Map< String, Object > uploadedFile : ( List< Map< String, Object > > ) entry.getValue() ) {
-
-                            if ( this.parameters.containsKey( entry.getKey() ) ) {
-                                final List< UploadedFile > list = ( List< UploadedFile > ) this.parameters.get( entry.getKey() );
-                                list.add( this.getUploadedFile( uploadedFile ) );
-
-                                continue;
-                            }
-
-                            final List< UploadedFile > list = new ArrayList<>();
 
-                            list.add( this.getUploadedFile( uploadedFile ) );
+        @Override
+        public JsonParser createParser( final JsonFactory jsonFactory, final Charset charset, final boolean retainable ) throws IOException {
+            if ( this.isBuffered( retainable ) ) {
+                RequestImpl.this.loadBody();
 
-                            this.parameters.put( entry.getKey(), list );
-                        }
-                    }
+                if ( RequestImpl.this.bodyBuffer == null ) {
+                    throw new Http500Exception( "INTERNAL_SERVER_ERROR" );
                 }
 
-
-                continue;
-            }
-
-            if ( input.getValue() instanceof Map ) {
-                final Map< String, Object > secondLevel = ( Map< String, Object > ) input.getValue();
-
-                for ( final Map.Entry< String, Object > content : secondLevel.entrySet() ) {
-                    this.parameters.put( input.getKey() + "_" + content.getKey(), content.getValue() );
-                }
-
-                continue;
-            }
-
-            if ( input.getValue() instanceof List ) {
-
-                for ( final Map< String, Object > thirdLevel : ( List< Map< String, Object > > ) input.getValue() ) {
-                    for ( final Map.Entry< String, Object > content : thirdLevel.entrySet() ) {
-                        final String key = input.getKey() + "_" + content.getKey();
-
-                        if ( this.parameters.containsKey( key ) ) {
-                            final List< Object > list = ( List< Object > ) this.parameters.get( key );
-                            list.add( content.getValue() );
-                        } else {
-                            final List< Object > list = new ArrayList<>();
-                            list.add( content.getValue() );
-
-                            this.parameters.put( key, list );
-                        }
-                    }
-                }
-
-                continue;
+                return RequestImpl.this.bodyBuffer.createParser( jsonFactory, charset );
             }
 
-            parameters.put( input.getKey(), input.getValue() );
+            return BodyBuffer.createParser( RequestImpl.this.openBodyStream(), jsonFactory, charset );
         }
-    }
 
 
-    protected UploadedFile getUploadedFile( final Map< String, Object > map ) {
-        final UploadedFile uploadedFile = new UploadedFileImpl();
-        uploadedFile.setName( ( String ) map.get( "name" ) );
-        uploadedFile.setContent( Base64.getDecoder().decode( ( String ) map.get( "content" ) ) );
-        uploadedFile.setContentType( map.get( "content-type" ) == null ? ( String ) map.get( "content_type" ) : ( String ) map.get( "content-type" ) );
-        uploadedFile.setSize( uploadedFile.getContent().length );
-        uploadedFile.setInfos( ( Map< String, Object > ) map.get( "infos" ) );
-
-        return uploadedFile;
+        private boolean isBuffered( final boolean retainable ) {
+            return RequestImpl.this.bodyLoaded || ( retainable && RequestImpl.this.configuration.isRetainBody() );
+        }
     }
 }
@@ -0,0 +1,146 @@
+package org.romainlavabre.request;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+
+/**
+ * Immutable snapshot of the request line and connection, computed once per request
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+public final class RequestMetadata {
+
+    private final String  method;
+    private final String  scheme;
+    private final String  host;
+    private final Integer port;
+    private final String  uri;
+    private final String  baseUrl;
+    private final String  clientIp;
+    private final String  contentType;
+    private final String  rawQueryString;
+
+
+    public RequestMetadata(
+            final String method,
+            final String scheme,
+            final String host,
+            final Integer port,
+            final String uri,
+            final String baseUrl,
+            final String clientIp,
+            final String contentType,
+            final String rawQueryString ) {
+        this.method         = method;
+        this.scheme         = scheme;
+        this.host           = host;
+        this.port           = port;
+        this.uri            = uri;
+        this.baseUrl        = baseUrl;
+        this.clientIp       = clientIp;
+        this.contentType    = contentType;
+        this.rawQueryString = rawQueryString;
+    }
+
+
+    public static RequestMetadata of( final HttpServletRequest request ) {
+        final String uri        = request.getRequestURI();
+        final String requestUrl = request.getRequestURL().toString();
+
+        return new RequestMetadata(
+                request.getMethod(),
+                request.getScheme(),
+                request.getRemoteHost(),
+                request.getServerPort(),
+                uri,
+                requestUrl.endsWith( uri ) ? requestUrl.substring( 0, requestUrl.length() - uri.length() ) : requestUrl.replace( uri, "" ),
+                request.getRemoteAddr(),
+                request.getContentType(),
+                request.getQueryString() );
+    }
+
+
+    public static RequestMetadata of( final ServerHttpRequest request ) {
+        final URI               uri           = request.getURI();
+        final InetSocketAddress remoteAddress = request.getRemoteAddress();
+        final int               port          = uri.getPort() != -1 ? uri.getPort() : "https".equalsIgnoreCase( uri.getScheme() ) ? 443 : 80;
+
+        return new RequestMetadata(
+                request.getMethod().name(),
+                uri.getScheme(),
+                remoteAddress == null ? null : remoteAddress.getHostString(),
+                port,
+                uri.getRawPath(),
+                uri.getScheme() + "://" + uri.getRawAuthority(),
+                remoteAddress == null || remoteAddress.getAddress() == null ? null : remoteAddress.getAddress().getHostAddress(),
+                request.getHeaders().getFirst( HttpHeaders.CONTENT_TYPE ),
+                uri.getRawQuery() );
+    }
+
+
+    /**
+     * @return Request method
+     */
+    public String getMethod() {
+        return this.method;
+    }
+
+
+    public String getScheme() {
+        return this.scheme;
+    }
+
+
+    /**
+     * @return Client host
+     */
+    public String getHost() {
+        return this.host;
+    }
+
+
+    /**
+     * @return Server port
+     */
+    public Integer getPort() {
+        return this.port;
+    }
+
+
+    /**
+     * @return Only uri <code>/path</code>
+     */
+    public String getUri() {
+        return this.uri;
+    }
+
+
+    /**
+     * @return Base url <code>https://domain.ext<code/>
+     */
+    public String getBaseUrl() {
+        return this.baseUrl;
+    }
+
+
+    /**
+     * @return Client IP
+     */
+    public String getClientIp() {
+        return this.clientIp;
+    }
+
+
+    public String getContentType() {
+        return this.contentType;
+    }
+
+
+    public String getRawQueryString() {
+        return this.rawQueryString;
+    }
+}
@@ -0,0 +1,220 @@
+package org.romainlavabre.request;
+
+import org.romainlavabre.request.exception.Http500Exception;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Uploaded file whose content lives in a temporary file, bytes are read back only when {@link #getContent()} is called.
+ * The temporary file is deleted at the end of the request
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+public class SpooledUploadedFile implements UploadedFile {
+
+    private final Path                  spoolFile;
+    private       String                name;
+    private       String                contentType;
+    private       int                   size;
+    private       byte[]                content;
+    private       String                path;
+    private       Map< String, Object > infos;
+
+
+    public SpooledUploadedFile( final Path spoolFile ) {
+        this.spoolFile = spoolFile;
+    }
+
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+
+    @Override
+    public void setName( final String name ) {
+        this.name = name;
+    }
+
+
+    @Override
+    public String getContentType() {
+        return this.contentType;
+    }
+
+
+    @Override
+    public void setContentType( final String contentType ) {
+        this.contentType = contentType;
+    }
+
+
+    @Override
+    public int getSize() {
+        return this.size;
+    }
+
+
+    @Override
+    public void setSize( final int size ) {
+        this.size = size;
+    }
+
+
+    /**
+     * @return Content read from the temporary file on each call, prefer {@link #getInputStream()}
+     */
+    @Override
+    public byte[] getContent() {
+        if ( this.content != null ) {
+            return this.content;
+        }
+
+        try {
+            return Files.readAllBytes( this.spoolFile );
+        } catch ( IOException e ) {
+            throw new Http500Exception( "UPLOADED_FILE_UNREADABLE" );
+        }
+    }
+
+
+    /**
+     * Replace the content in memory, the temporary file is no longer used
+     */
+    @Override
+    public void setContent( final byte[] content ) {
+        this.content = content;
+        this.delete();
+    }
+
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        if ( this.content != null ) {
+            return new ByteArrayInputStream( this.content );
+        }
+
+        return Files.newInputStream( this.spoolFile );
+    }
+
+
+    @Override
+    public ReadableByteChannel getChannel() throws IOException {
+        if ( this.content != null ) {
+            return UploadedFile.super.getChannel();
+        }
+
+        return FileChannel.open( this.spoolFile, StandardOpenOption.READ );
+    }
+
+
+    /**
+     * The mapping stays valid after the temporary file is deleted, until the buffer is garbage collected
+     */
+    @Override
+    public ByteBuffer getMappedContent() throws IOException {
+        if ( this.content != null ) {
+            return UploadedFile.super.getMappedContent();
+        }
+
+        try ( final FileChannel fileChannel = FileChannel.open( this.spoolFile, StandardOpenOption.READ ) ) {
+            return fileChannel.map( FileChannel.MapMode.READ_ONLY, 0, fileChannel.size() );
+        }
+    }
+
+
+    @Override
+    public void transferTo( final Path target ) throws IOException {
+        if ( this.content != null ) {
+            UploadedFile.super.transferTo( target );
+            return;
+        }
+
+        Files.copy( this.spoolFile, target, StandardCopyOption.REPLACE_EXISTING );
+    }
+
+
+    /**
+     * Use {@link FileChannel#transferTo(long, long, WritableByteChannel)}, the content is not copied on the heap
+     */
+    @Override
+    public long transferTo( final WritableByteChannel target ) throws IOException {
+        if ( this.content != null ) {
+            return UploadedFile.super.transferTo( target );
+        }
+
+        try ( final FileChannel fileChannel = FileChannel.open( this.spoolFile, StandardOpenOption.READ ) ) {
+            final long size     = fileChannel.size();
+            long       position = 0;
+
+            while ( position < size ) {
+                position += fileChannel.transferTo( position, size - position, target );
+            }
+
+            return position;
+        }
+    }
+
+
+    /**
+     * @return Temporary file holding the content
+     */
+    public Path getSpoolFile() {
+        return this.spoolFile;
+    }
+
+
+    @Override
+    public String getPath() {
+        return this.path;
+    }
+
+
+    @Override
+    public void setPath( final String path ) {
+        this.path = path;
+    }
+
+
+    @Override
+    public Map< String, Object > getInfos() {
+        return this.infos;
+    }
+
+
+    @Override
+    public void setInfos( final Map< String, Object > infos ) {
+        this.infos = infos;
+    }
+
+
+    @Override
+    public boolean hasInfos() {
+        return this.infos != null;
+    }
+
+
+    /**
+     * Delete the temporary file, a file that cannot be deleted now (still open on Windows) is deleted when the JVM exits.
+     * Called when the request is released, it never throws so that the other files are deleted too
+     */
+    public void delete() {
+        try {
+            Files.deleteIfExists( this.spoolFile );
+        } catch ( IOException e ) {
+            this.spoolFile.toFile().deleteOnExit();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.romainlavabre.request;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Keep the written bytes in memory until the threshold is passed, then move them to a temporary file
+ *
+ * @author Romain Lavabre <romainlavabre98@gmail.com>
+ */
+class SpoolingOutputStream extends OutputStream {
+
+    private final long                  threshold;
+    private final Path                  directory;
+    private       ByteArrayOutputStream memory;
+    private       OutputStream          file;
+    private       Path                  spoolFile;
+    private       long                  size;
+
+
+    SpoolingOutputStream( final long threshold, final Path directory ) {
+        this.threshold = threshold;
+        this.directory = directory;
+        this.memory    = new ByteArrayOutputStream();
+    }
+
+
+    @Override
+    public void write( final int b ) throws IOException {
+        this.write( new byte[]{( byte ) b }, 0, 1 );
+    }
+
+
+    @Override
+    public void write( final byte[] bytes, final int offset, final int length ) throws IOException {
+        if ( this.file == null && this.size + length > this.threshold ) {
+            this.spoolFile = this.directory == null
+                    ? Files.createTempFile( "upload-", ".tmp" )
+                    : Files.createTempFile( this.directory, "upload-", ".tmp" );
+            this.file      = Files.newOutputStream( this.spoolFile );
+
+            this.memory.writeTo( this.file );
+            this.memory = null;
+        }
+
+        if ( this.file != null ) {
+            this.file.write( bytes, offset, length );
+        } else {
+            this.memory.write( bytes, offset, length );
+        }
+
+        this.size += length;
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        if ( this.file != null ) {
+            this.file.close();
+        }
+    }
+
+
+    boolean isSpooled() {
+        return this.spoolFile != null;
+    }
+
+
+    long size() {
+        return this.size;
+    }
+
+
+    /**
+     * @return Bytes written, only when not spooled
+     */
+    byte[] toByteArray() {
+        return this.memory.toByteArray();
+    }
+
+
+    /**
+     * @return Temporary file, only when spooled
+     */
+    Path getSpoolFile() {
+        return this.spoolFile;
+    }
+
+
+    /**
+     * Delete the temporary file if any, used when the upload is aborted
+     */
+    void discard() {
+        try {
+            this.close();
+        } catch ( IOException ignored ) {
+            // The content is dropped anyway
+        }
+
+        if ( this.spoolFile != null ) {
+            try {
+                Files.deleteIfExists( this.spoolFile );
+            } catch ( IOException e ) {
+                this.spoolFile.toFile().deleteOnExit();
+            }
+        }
+    }
+}
@@ -1,5 +1,15 @@
 package org.romainlavabre.request;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Map;
 
 /**
@@ -33,6 +43,60 @@ public interface UploadedFile {
     void setContent( byte[] content );
 
 
+    /**
+     * @return Stream over the content, without loading it in memory when the implementation allows it
+     */
+    default InputStream getInputStream() throws IOException {
+        return new ByteArrayInputStream( this.getContent() );
+    }
+
+
+    /**
+     * @return Channel over the content
+     */
+    default ReadableByteChannel getChannel() throws IOException {
+        return Channels.newChannel( this.getInputStream() );
+    }
+
+
+    /**
+     * @return Read-only view of the content, memory-mapped when the content lives in a file
+     */
+    default ByteBuffer getMappedContent() throws IOException {
+        return ByteBuffer.wrap( this.getContent() ).asReadOnlyBuffer();
+    }
+
+
+    /**
+     * Copy the content to the target, overwriting it
+     *
+     * @param target Target file
+     */
+    default void transferTo( final Path target ) throws IOException {
+        try ( final InputStream inputStream = this.getInputStream() ) {
+            Files.copy( inputStream, target, StandardCopyOption.REPLACE_EXISTING );
+        }
+    }
+
+
+    /**
+     * Write the whole content to the channel, the channel is not closed
+     *
+     * @param target Target channel
+     * @return Number of bytes written
+     */
+    default long transferTo( final WritableByteChannel target ) throws IOException {
+        final ByteBuffer byteBuffer = ByteBuffer.wrap( this.getContent() );
+        long             written    = 0;
+
+        while ( byteBuffer.hasRemaining() ) {
+            written += target.write( byteBuffer );
+        }
+
+        return written;
+    }
+
+
     String getPath();
 
 
@@ -0,0 +1,12 @@
+package org.romainlavabre.request.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus( code = HttpStatus.PAYLOAD_TOO_LARGE )
+public class Http413Exception extends RuntimeException {
+
+    public Http413Exception( String message ) {
+        super( message );
+    }
+}
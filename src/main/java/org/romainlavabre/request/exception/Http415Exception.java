@@ -0,0 +1,12 @@
+package org.romainlavabre.request.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus( code = HttpStatus.UNSUPPORTED_MEDIA_TYPE )
+public class Http415Exception extends RuntimeException {
+
+    public Http415Exception( String message ) {
+        super( message );
+    }
+}
@@ -0,0 +1,232 @@
+package org.romainlavabre.request;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.junit.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class AsyncBodyFilterTest {
+
+    private static final byte[] JSON = "{\"name\":\"value\"}".getBytes( StandardCharsets.UTF_8 );
+
+
+    @Test
+    public void testBufferedBodyIsParsedOnTheAsyncDispatch() throws ServletException, IOException {
+        final MockHttpServletRequest    mockRequest = request( JSON );
+        final ReadableRequest           request     = new ReadableRequest( mockRequest, JSON, true );
+        final MockHttpServletResponse   response    = new MockHttpServletResponse();
+        final AtomicReference< Object > parameter   = new AtomicReference<>();
+
+        filter( 1024 ).doFilter( request, response, ( servletRequest, servletResponse ) -> fail( "Chain called before the body is read" ) );
+
+        assertTrue( mockRequest.isAsyncStarted() );
+
+        request.inputStream.readListener.onDataAvailable();
+        request.inputStream.readListener.onAllDataRead();
+
+        assertNotNull( ( ( MockAsyncContext ) mockRequest.getAsyncContext() ).getDispatchedPath() );
+
+        // What the container does before the ASYNC dispatch
+        mockRequest.setAsyncStarted( false );
+        mockRequest.setDispatcherType( DispatcherType.ASYNC );
+
+        filter( 1024 ).doFilter( request, response, ( servletRequest, servletResponse ) -> {
+            try {
+                final RequestImpl requestImpl = new RequestImpl( mockRequest, new RequestConfiguration(), DefaultObjectMapperProvider.getDefault() );
+
+                parameter.set( requestImpl.getParameter( "name" ) );
+                requestImpl.destroy();
+            } catch ( IOException e ) {
+                throw new IllegalStateException( e );
+            }
+        } );
+
+        assertEquals( "value", parameter.get() );
+        assertNull( mockRequest.getAttribute( AsyncBodyFilter.ATTRIBUTE ) );
+    }
+
+
+    @Test
+    public void testDisabledCallsTheChain() throws ServletException, IOException {
+        final MockHttpServletRequest            mockRequest = request( JSON );
+        final AtomicReference< ServletRequest > chained     = new AtomicReference<>();
+
+        new AsyncBodyFilter( new RequestConfiguration() ).doFilter( mockRequest, new MockHttpServletResponse(), ( servletRequest, servletResponse ) -> chained.set( servletRequest ) );
+
+        assertSame( mockRequest, chained.get() );
+        assertFalse( mockRequest.isAsyncStarted() );
+    }
+
+
+    @Test
+    public void testDeclaredLengthAboveMaxSize() throws ServletException, IOException {
+        final MockHttpServletRequest  mockRequest = request( new byte[ 2048 ] );
+        final MockHttpServletResponse response    = new MockHttpServletResponse();
+
+        filter( 1024 ).doFilter( mockRequest, response, ( servletRequest, servletResponse ) -> fail( "Chain called" ) );
+
+        assertEquals( 413, response.getStatus() );
+        assertFalse( mockRequest.isAsyncStarted() );
+    }
+
+
+    @Test
+    public void testChunkedBodyAboveMaxSize() throws ServletException, IOException {
+        final MockHttpServletRequest  mockRequest = request( new byte[ 0 ] );
+        final ReadableRequest         request     = new ReadableRequest( mockRequest, new byte[ 20000 ], false );
+        final MockHttpServletResponse response    = new MockHttpServletResponse();
+
+        mockRequest.addHeader( "Transfer-Encoding", "chunked" );
+
+        filter( 1024 ).doFilter( request, response, ( servletRequest, servletResponse ) -> fail( "Chain called" ) );
+
+        request.inputStream.readListener.onDataAvailable();
+
+        assertEquals( 413, response.getStatus() );
+        assertFalse( mockRequest.isAsyncStarted() );
+        // No more data is read past the limit
+        assertTrue( request.inputStream.position < 20000 );
+    }
+
+
+    @Test
+    public void testTimeout() throws ServletException, IOException {
+        final MockHttpServletRequest  mockRequest = request( JSON );
+        final MockHttpServletResponse response    = new MockHttpServletResponse();
+
+        filter( 1024 ).doFilter( new ReadableRequest( mockRequest, JSON, true ), response, ( servletRequest, servletResponse ) -> fail( "Chain called" ) );
+
+        final AsyncContext asyncContext = mockRequest.getAsyncContext();
+
+        for ( final AsyncListener listener : ( ( MockAsyncContext ) asyncContext ).getListeners() ) {
+            listener.onTimeout( new AsyncEvent( asyncContext ) );
+        }
+
+        assertEquals( 408, response.getStatus() );
+        assertFalse( mockRequest.isAsyncStarted() );
+    }
+
+
+    @Test
+    public void testReadError() throws ServletException, IOException {
+        final MockHttpServletRequest  mockRequest = request( JSON );
+        final ReadableRequest         request     = new ReadableRequest( mockRequest, JSON, true );
+        final MockHttpServletResponse response    = new MockHttpServletResponse();
+
+        filter( 1024 ).doFilter( request, response, ( servletRequest, servletResponse ) -> fail( "Chain called" ) );
+
+        request.inputStream.readListener.onError( new IOException( "Connection reset" ) );
+        // A late event does not answer twice
+        request.inputStream.readListener.onAllDataRead();
+
+        assertEquals( 400, response.getStatus() );
+        assertFalse( mockRequest.isAsyncStarted() );
+        assertNull( mockRequest.getAttribute( AsyncBodyFilter.ATTRIBUTE ) );
+    }
+
+
+    private static AsyncBodyFilter filter( final long maxBodySize ) {
+        return new AsyncBodyFilter( new RequestConfiguration().setAsyncBody( true ).setMaxBodySize( maxBodySize ) );
+    }
+
+
+    private static MockHttpServletRequest request( final byte[] body ) {
+        final MockHttpServletRequest request = new MockHttpServletRequest( "POST", "/" );
+
+        request.setAsyncSupported( true );
+        request.setContentType( "application/json" );
+        request.setContent( body );
+
+        return request;
+    }
+
+
+    /**
+     * Non-blocking input stream whose read listener is driven by the test, as the container would
+     */
+    private static class ReadableRequest extends HttpServletRequestWrapper {
+
+        private final ReadableInputStream inputStream;
+        private final boolean             declaredLength;
+
+
+        ReadableRequest( final MockHttpServletRequest request, final byte[] body, final boolean declaredLength ) {
+            super( request );
+            this.inputStream    = new ReadableInputStream( body );
+            this.declaredLength = declaredLength;
+        }
+
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return this.inputStream;
+        }
+
+
+        @Override
+        public long getContentLengthLong() {
+            return this.declaredLength ? this.inputStream.body.length : -1;
+        }
+    }
+
+
+    private static class ReadableInputStream extends ServletInputStream {
+
+        private final byte[]       body;
+        private       int          position;
+        private       ReadListener readListener;
+
+
+        ReadableInputStream( final byte[] body ) {
+            this.body = body;
+        }
+
+
+        @Override
+        public boolean isFinished() {
+            return this.position >= this.body.length;
+        }
+
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+
+        @Override
+        public void setReadListener( final ReadListener readListener ) {
+            this.readListener = readListener;
+        }
+
+
+        @Override
+        public int read() {
+            return this.isFinished() ? -1 : this.body[ this.position++ ] & 0xFF;
+        }
+
+
+        @Override
+        public int read( final byte[] bytes, final int offset, final int length ) {
+            if ( this.isFinished() ) {
+                return -1;
+            }
+
+            // At most 100 bytes per read, as network packets
+            final int read = Math.min( Math.min( length, 100 ), this.body.length - this.position );
+
+            System.arraycopy( this.body, this.position, bytes, offset, read );
+            this.position += read;
+
+            return read;
+        }
+    }
+}
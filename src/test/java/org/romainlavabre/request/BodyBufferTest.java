@@ -0,0 +1,48 @@
+package org.romainlavabre.request;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class BodyBufferTest {
+
+    @Test
+    public void testReleaseTwiceDoesNotPoolTheChunkTwice() {
+        final BodyBuffer released = new BodyBuffer();
+
+        released.write( new byte[ 3 * BodyBuffer.CHUNK_SIZE ], 0, 3 * BodyBuffer.CHUNK_SIZE );
+        released.release();
+        released.release();
+
+        // Borrow more chunks than the pool holds, a chunk pooled twice would be shared by two buffers
+        final BodyBuffer[] buffers = new BodyBuffer[ 600 ];
+
+        for ( int i = 0; i < buffers.length; i++ ) {
+            buffers[ i ] = new BodyBuffer();
+            buffers[ i ].write( ByteBuffer.allocate( 4 ).putInt( 0, i ) );
+        }
+
+        for ( int i = 0; i < buffers.length; i++ ) {
+            assertEquals( i, ByteBuffer.wrap( buffers[ i ].toByteArray() ).getInt() );
+        }
+
+        for ( final BodyBuffer buffer : buffers ) {
+            buffer.release();
+        }
+    }
+
+
+    @Test
+    public void testReleaseEmptiesTheBuffer() throws IOException {
+        final BodyBuffer bodyBuffer = new BodyBuffer();
+
+        bodyBuffer.write( new byte[]{ 1, 2, 3 }, 0, 3 );
+        bodyBuffer.release();
+
+        assertEquals( 0, bodyBuffer.size() );
+        assertEquals( -1, bodyBuffer.openStream().read() );
+    }
+}
@@ -0,0 +1,236 @@
+package org.romainlavabre.request;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class BodyParserTest {
+
+    /**
+     * Bodies readable by the first release, which flattened the first two levels of an object
+     */
+    private static final String[] BASELINE_BODIES = {
+            "{}",
+            "{\"name\":\"value\",\"age\":42,\"price\":9.5,\"active\":true,\"empty\":\"\",\"none\":null}",
+            "{\"user\":{\"name\":\"Zoé\",\"age\":42}}",
+            "{\"user\":{\"address\":{\"city\":\"Lyon\",\"zip\":\"69000\"},\"tags\":[\"a\",\"b\"]}}",
+            "{\"lines\":[{\"id\":1,\"qty\":2},{\"id\":2,\"qty\":5}]}",
+            "{\"lines\":[{\"id\":1},{\"id\":2,\"qty\":5}]}",
+            "{\"lines\":[{\"product\":{\"id\":7}},{\"product\":{\"id\":8}}]}",
+            "{\"lines\":[]}",
+            "{\"user\":{},\"name\":\"value\"}",
+            "{\"a\":{\"b\":1},\"c\":[{\"d\":[1,2]}],\"e\":\"f\"}"
+    };
+
+
+    @Test
+    public void testMatchesBaseline() throws IOException {
+        for ( final String body : BASELINE_BODIES ) {
+            assertEquals( body, baseline( body ), parse( body, new RequestConfiguration() ) );
+        }
+    }
+
+
+    @Test
+    public void testKeyShapes() throws IOException {
+        final Map< String, Object > parameters = parse( "{\"user\":{\"name\":\"Zoé\"},\"lines\":[{\"id\":1},{\"id\":2}],\"tags\":[\"a\",\"b\"]}", new RequestConfiguration() );
+
+        assertEquals( "Zoé", parameters.get( "user_name" ) );
+        assertEquals( List.of( 1, 2 ), parameters.get( "lines_id" ) );
+        // Rejected by the first release, a list of scalars is kept under its key
+        assertEquals( List.of( "a", "b" ), parameters.get( "tags" ) );
+        assertFalse( parameters.containsKey( "user" ) );
+        assertFalse( parameters.containsKey( "lines" ) );
+    }
+
+
+    @Test
+    public void testSingleElementArrayIsAList() throws IOException {
+        assertEquals( List.of( 1 ), parse( "{\"lines\":[{\"id\":1}]}", new RequestConfiguration() ).get( "lines_id" ) );
+    }
+
+
+    @Test
+    public void testNullRoot() throws IOException {
+        assertTrue( parse( "null", new RequestConfiguration() ).isEmpty() );
+        assertTrue( parse( "", new RequestConfiguration() ).isEmpty() );
+    }
+
+
+    @Test( expected = JsonProcessingException.class )
+    public void testArrayRoot() throws IOException {
+        parse( "[{\"id\":1}]", new RequestConfiguration() );
+    }
+
+
+    @Test
+    public void testUploadedFile() throws IOException {
+        final String content = Base64.getEncoder().encodeToString( "hello".getBytes( StandardCharsets.UTF_8 ) );
+        final String body    = "{\"uploaded_file\":{\"avatar\":{\"name\":\"a.txt\",\"content\":\"" + content + "\",\"content-type\":\"text/plain\",\"infos\":{\"alt\":\"Avatar\"}}},\"name\":\"value\"}";
+
+        final Map< String, Object > parameters = parse( body, new RequestConfiguration() );
+        final UploadedFile          file       = ( UploadedFile ) parameters.get( "avatar" );
+
+        assertEquals( "a.txt", file.getName() );
+        assertEquals( "text/plain", file.getContentType() );
+        assertEquals( 5, file.getSize() );
+        assertArrayEquals( "hello".getBytes( StandardCharsets.UTF_8 ), file.getContent() );
+        assertEquals( Map.of( "alt", "Avatar" ), file.getInfos() );
+        assertEquals( "value", parameters.get( "name" ) );
+        assertFalse( parameters.containsKey( "uploaded_file" ) );
+    }
+
+
+    @Test
+    public void testUploadedFiles() throws IOException {
+        final String body = "{\"uploaded_file\":{\"photos\":["
+                + "{\"name\":\"a.png\",\"content\":\"" + Base64.getEncoder().encodeToString( new byte[]{ 1 } ) + "\",\"content_type\":\"image/png\"},"
+                + "{\"name\":\"b.png\",\"content\":\"" + Base64.getEncoder().encodeToString( new byte[]{ 2, 3 } ) + "\"}"
+                + "]}}";
+
+        final List< UploadedFile > files = ( List< UploadedFile > ) parse( body, new RequestConfiguration() ).get( "photos" );
+
+        assertEquals( 2, files.size() );
+        assertEquals( "a.png", files.get( 0 ).getName() );
+        assertEquals( "image/png", files.get( 0 ).getContentType() );
+        assertArrayEquals( new byte[]{ 1 }, files.get( 0 ).getContent() );
+        assertEquals( "b.png", files.get( 1 ).getName() );
+        assertNull( files.get( 1 ).getContentType() );
+        assertArrayEquals( new byte[]{ 2, 3 }, files.get( 1 ).getContent() );
+    }
+
+
+    @Test
+    public void testUploadedFileIsSpooledPastThreshold() throws IOException {
+        final byte[] content = new byte[ 4096 ];
+
+        new Random( 1 ).nextBytes( content );
+
+        final String       body       = "{\"uploaded_file\":{\"archive\":{\"name\":\"a.bin\",\"content\":\"" + Base64.getEncoder().encodeToString( content ) + "\"}}}";
+        final ParameterMap parameters = new ParameterMap();
+        final BodyParser   bodyParser = new BodyParser( parameters, new RequestConfiguration().setSpoolThreshold( 1024 ), DefaultObjectMapperProvider.getDefault() );
+
+        final Path spoolFile;
+
+        try {
+            parse( bodyParser, body );
+
+            final UploadedFile file = ( UploadedFile ) parameters.get( "archive" );
+
+            assertTrue( file instanceof SpooledUploadedFile );
+            spoolFile = ( ( SpooledUploadedFile ) file ).getSpoolFile();
+
+            assertTrue( Files.exists( spoolFile ) );
+            assertEquals( 4096, file.getSize() );
+            assertArrayEquals( content, file.getContent() );
+        } finally {
+            bodyParser.release();
+        }
+
+        assertFalse( Files.exists( spoolFile ) );
+    }
+
+
+    @Test
+    public void testUploadedFileBelowThresholdStaysInMemory() throws IOException {
+        final String body = "{\"uploaded_file\":{\"avatar\":{\"content\":\"" + Base64.getEncoder().encodeToString( new byte[ 512 ] ) + "\"}}}";
+
+        assertFalse( parse( body, new RequestConfiguration().setSpoolThreshold( 1024 ) ).get( "avatar" ) instanceof SpooledUploadedFile );
+    }
+
+
+    @Test
+    public void testDepthOne() throws IOException {
+        final Map< String, Object > parameters = parse( "{\"a\":{\"b\":1},\"c\":[{\"d\":1}],\"e\":[1,2]}", new RequestConfiguration().setFlattenDepth( 1 ) );
+
+        assertEquals( Map.of( "b", 1 ), parameters.get( "a" ) );
+        assertEquals( List.of( Map.of( "d", 1 ) ), parameters.get( "c" ) );
+        assertEquals( List.of( 1, 2 ), parameters.get( "e" ) );
+        assertEquals( 3, parameters.size() );
+    }
+
+
+    @Test
+    public void testDepthThree() throws IOException {
+        final Map< String, Object > parameters = parse(
+                "{\"a\":{\"b\":{\"c\":1}},\"lines\":[{\"product\":{\"id\":7}},{\"product\":{\"id\":8}}],\"order\":{\"lines\":[{\"id\":1},{\"id\":2}]}}",
+                new RequestConfiguration().setFlattenDepth( 3 ) );
+
+        assertEquals( 1, parameters.get( "a_b_c" ) );
+        assertEquals( List.of( 7, 8 ), parameters.get( "lines_product_id" ) );
+        assertEquals( List.of( 1, 2 ), parameters.get( "order_lines_id" ) );
+        assertEquals( 3, parameters.size() );
+    }
+
+
+    @Test
+    public void testDepthLimit() throws IOException {
+        final String body = "{\"a\":{\"b\":{\"c\":{\"d\":{\"e\":1}}}}}";
+
+        assertEquals( Map.of( "a_b_c_d_e", 1 ), parse( body, new RequestConfiguration().setFlattenDepth( 5 ) ) );
+        assertEquals( Map.of( "a_b_c_d_e", 1 ), parse( body, new RequestConfiguration().setFlattenDepth( 32 ) ) );
+        // Deeper values are materialized under the last flattened key
+        assertEquals( Map.of( "a_b_c_d", Map.of( "e", 1 ) ), parse( body, new RequestConfiguration().setFlattenDepth( 4 ) ) );
+        assertEquals( Map.of( "a_b", Map.of( "c", Map.of( "d", Map.of( "e", 1 ) ) ) ), parse( body, new RequestConfiguration() ) );
+    }
+
+
+    private static Map< String, Object > parse( final String body, final RequestConfiguration configuration ) throws IOException {
+        final ParameterMap parameters = new ParameterMap();
+        final BodyParser   bodyParser = new BodyParser( parameters, configuration, DefaultObjectMapperProvider.getDefault() );
+
+        try {
+            parse( bodyParser, body );
+        } finally {
+            bodyParser.release();
+        }
+
+        return parameters;
+    }
+
+
+    private static void parse( final BodyParser bodyParser, final String body ) throws IOException {
+        bodyParser.parseJson( DefaultObjectMapperProvider.getDefault().getJsonFactory().createParser( body ) );
+    }
+
+
+    /**
+     * Flattening of the first release, through a full tree
+     */
+    private static Map< String, Object > baseline( final String body ) throws IOException {
+        final Map< String, Object > parameters = new HashMap<>();
+        final Map< String, Object > map        = new ObjectMapper().readValue( body, HashMap.class );
+
+        for ( final Map.Entry< String, Object > input : map.entrySet() ) {
+            if ( input.getValue() instanceof Map ) {
+                for ( final Map.Entry< String, Object > content : ( ( Map< String, Object > ) input.getValue() ).entrySet() ) {
+                    parameters.put( input.getKey() + "_" + content.getKey(), content.getValue() );
+                }
+
+                continue;
+            }
+
+            if ( input.getValue() instanceof List ) {
+                for ( final Map< String, Object > thirdLevel : ( List< Map< String, Object > > ) input.getValue() ) {
+                    for ( final Map.Entry< String, Object > content : thirdLevel.entrySet() ) {
+                        ( ( List< Object > ) parameters.computeIfAbsent( input.getKey() + "_" + content.getKey(), key -> new ArrayList<>() ) ).add( content.getValue() );
+                    }
+                }
+
+                continue;
+            }
+
+            parameters.put( input.getKey(), input.getValue() );
+        }
+
+        return parameters;
+    }
+}
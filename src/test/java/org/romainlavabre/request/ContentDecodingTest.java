@@ -0,0 +1,164 @@
+package org.romainlavabre.request;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdOutputStream;
+import org.junit.Test;
+import org.romainlavabre.request.exception.Http400Exception;
+import org.romainlavabre.request.exception.Http413Exception;
+import org.romainlavabre.request.exception.Http415Exception;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+public class ContentDecodingTest {
+
+    private static final byte[] JSON = "{\"name\":\"value\",\"list\":[1,2,3]}".getBytes( StandardCharsets.UTF_8 );
+
+    private static final long MAX_SIZE = 1024 * 1024;
+
+
+    @Test
+    public void testIdentity() throws IOException {
+        final InputStream inputStream = new ByteArrayInputStream( JSON );
+
+        assertSame( inputStream, ContentDecoding.decode( inputStream, null, MAX_SIZE ) );
+        assertSame( inputStream, ContentDecoding.decode( inputStream, " Identity ", MAX_SIZE ) );
+    }
+
+
+    @Test
+    public void testGzip() throws IOException {
+        assertArrayEquals( JSON, decode( gzip( JSON ), "gzip" ) );
+        assertArrayEquals( JSON, decode( gzip( JSON ), "X-GZIP" ) );
+    }
+
+
+    @Test
+    public void testDeflateZlibAndRaw() throws IOException {
+        assertArrayEquals( JSON, decode( deflate( JSON, false ), "deflate" ) );
+        assertArrayEquals( JSON, decode( deflate( JSON, true ), "deflate" ) );
+    }
+
+
+    @Test
+    public void testEncodingsAreUndoneFromTheLast() throws IOException {
+        assertArrayEquals( JSON, decode( gzip( deflate( JSON, false ) ), "deflate, gzip" ) );
+    }
+
+
+    @Test( expected = Http413Exception.class )
+    public void testGzipBomb() throws IOException {
+        decode( gzip( new byte[ 10 * 1024 * 1024 ] ), "gzip" );
+    }
+
+
+    @Test( expected = Http400Exception.class )
+    public void testGzipInvalidHeader() throws IOException {
+        decode( JSON, "gzip" );
+    }
+
+
+    @Test( expected = Http400Exception.class )
+    public void testGzipCorruptData() throws IOException {
+        final byte[] gzip = gzip( JSON );
+
+        // Past the 10 bytes header
+        for ( int i = 10; i < gzip.length - 8; i++ ) {
+            gzip[ i ] = ( byte ) 0xFF;
+        }
+
+        decode( gzip, "gzip" );
+    }
+
+
+    @Test( expected = Http400Exception.class )
+    public void testGzipTruncated() throws IOException {
+        final byte[] gzip = gzip( JSON );
+
+        decode( Arrays.copyOf( gzip, gzip.length - 10 ), "gzip" );
+    }
+
+
+    @Test
+    public void testZstd() throws IOException {
+        assertArrayEquals( JSON, decode( Zstd.compress( JSON ), "zstd" ) );
+    }
+
+
+    @Test( expected = Http413Exception.class )
+    public void testZstdBomb() throws IOException {
+        decode( Zstd.compress( new byte[ 10 * 1024 * 1024 ] ), "zstd" );
+    }
+
+
+    @Test( expected = Http400Exception.class )
+    public void testZstdCorrupt() throws IOException {
+        decode( "not a zstd frame at all".getBytes( StandardCharsets.US_ASCII ), "zstd" );
+    }
+
+
+    @Test( expected = Http400Exception.class )
+    public void testZstdTruncated() throws IOException {
+        final byte[] zstd = Zstd.compress( JSON );
+
+        decode( Arrays.copyOf( zstd, zstd.length - 4 ), "zstd" );
+    }
+
+
+    @Test( expected = Http400Exception.class )
+    public void testZstdWindowAboveLimit() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Streamed without content size, the frame declares a 128 MB window
+        try ( final ZstdOutputStream zstdOutputStream = new ZstdOutputStream( output ) ) {
+            zstdOutputStream.setLong( 27 );
+            zstdOutputStream.write( JSON );
+        }
+
+        decode( output.toByteArray(), "zstd" );
+    }
+
+
+    @Test( expected = Http415Exception.class )
+    public void testUnknownEncoding() throws IOException {
+        decode( JSON, "br" );
+    }
+
+
+    private static byte[] decode( final byte[] body, final String contentEncoding ) throws IOException {
+        try ( final InputStream inputStream = ContentDecoding.decode( new ByteArrayInputStream( body ), contentEncoding, MAX_SIZE ) ) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+
+    private static byte[] gzip( final byte[] content ) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try ( final GZIPOutputStream gzipOutputStream = new GZIPOutputStream( output ) ) {
+            gzipOutputStream.write( content );
+        }
+
+        return output.toByteArray();
+    }
+
+
+    private static byte[] deflate( final byte[] content, final boolean raw ) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try ( final DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream( output, new Deflater( Deflater.DEFAULT_COMPRESSION, raw ) ) ) {
+            deflaterOutputStream.write( content );
+        }
+
+        return output.toByteArray();
+    }
+}
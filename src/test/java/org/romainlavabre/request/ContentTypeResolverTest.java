@@ -0,0 +1,92 @@
+package org.romainlavabre.request;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ContentTypeResolverTest {
+
+    private static final Path MIME_TYPES = Path.of( "src", "build", "mime.types" );
+
+
+    @Test
+    public void testEveryLineOfMimeTypesRoundTrips() throws IOException {
+        int entries = 0;
+
+        for ( final String line : Files.readAllLines( MIME_TYPES, StandardCharsets.UTF_8 ) ) {
+            if ( line.isBlank() || line.startsWith( "#" ) ) {
+                continue;
+            }
+
+            final String[] fields = line.trim().split( "\\s+" );
+
+            assertEquals( fields[ 0 ], fields[ 1 ], ContentTypeResolver.getExtension( fields[ 0 ] ) );
+
+            for ( int i = 1; i < fields.length; i++ ) {
+                assertTrue( fields[ i ], ContentTypeResolver.getContentTypes( fields[ i ] ).contains( fields[ 0 ] ) );
+                assertEquals( fields[ i ], ContentTypeResolver.getContentTypes( fields[ i ] ).get( 0 ), ContentTypeResolver.getContentType( fields[ i ] ) );
+            }
+
+            entries++;
+        }
+
+        assertEquals( ContentTypeTables.TYPE_COUNT, entries );
+    }
+
+
+    @Test
+    public void testRegisteredTypeIsCanonical() {
+        assertEquals( "application/zip", ContentTypeResolver.getContentType( "zip" ) );
+        assertEquals( List.of( "application/zip", "application/x-zip-compressed" ), ContentTypeResolver.getContentTypes( "zip" ) );
+        assertEquals( "font/otf", ContentTypeResolver.getContentType( "otf" ) );
+    }
+
+
+    @Test
+    public void testNamesAreReadOnce() {
+        assertSame( ContentTypeResolver.getContentType( "pdf" ), ContentTypeResolver.getContentType( ".PDF" ) );
+        assertSame( ContentTypeResolver.getExtension( "application/pdf" ), ContentTypeResolver.getExtension( "Application/PDF" ) );
+        assertSame( ContentTypeResolver.getContentType( "zip" ), ContentTypeResolver.getContentTypes( "zip" ).get( 0 ) );
+    }
+
+
+    @Test
+    public void testExperimentalTypesKeepFileOrder() {
+        assertEquals( List.of( "audio/x-aac", "audio/x-hx-aac-adts" ), ContentTypeResolver.getContentTypes( "aac" ) );
+    }
+
+
+    @Test
+    public void testExtensionIsCaseInsensitiveAndMayHaveDot() {
+        assertEquals( "application/pdf", ContentTypeResolver.getContentType( ".PDF" ) );
+        assertEquals( "application/pdf", ContentTypeResolver.getContentType( "Pdf" ) );
+    }
+
+
+    @Test
+    public void testContentTypeParametersAndCaseAreIgnored() {
+        assertEquals( "html", ContentTypeResolver.getExtension( "Text/HTML; charset=utf-8" ) );
+        assertEquals( "json", ContentTypeResolver.getExtension( " application/json " ) );
+        assertEquals( "jpeg", ContentTypeResolver.getExtension( "image/pjpeg" ) );
+    }
+
+
+    @Test
+    public void testUnknownValues() {
+        assertNull( ContentTypeResolver.getContentType( "nope" ) );
+        assertNull( ContentTypeResolver.getContentType( "" ) );
+        assertNull( ContentTypeResolver.getContentType( "." ) );
+        assertNull( ContentTypeResolver.getContentType( null ) );
+        assertEquals( List.of(), ContentTypeResolver.getContentTypes( "nope" ) );
+        assertEquals( List.of(), ContentTypeResolver.getContentTypes( null ) );
+        assertNull( ContentTypeResolver.getExtension( "application/jso" ) );
+        assertNull( ContentTypeResolver.getExtension( "application/jsonx" ) );
+        assertNull( ContentTypeResolver.getExtension( null ) );
+    }
+}
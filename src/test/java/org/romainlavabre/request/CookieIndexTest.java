@@ -0,0 +1,80 @@
+package org.romainlavabre.request;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CookieIndexTest {
+
+    @Test
+    public void testValues() {
+        final CookieIndex cookieIndex = CookieIndex.parse( List.of( "session=abc; lang=fr;theme = dark " ) );
+
+        assertEquals( "abc", cookieIndex.get( "session" ) );
+        assertEquals( "fr", cookieIndex.get( "lang" ) );
+        assertEquals( "dark", cookieIndex.get( "theme" ) );
+        assertNull( cookieIndex.get( "missing" ) );
+    }
+
+
+    @Test
+    public void testQuotedValue() {
+        final CookieIndex cookieIndex = CookieIndex.parse( List.of( "a=\"quoted value\"; b=\"\"; c=\"; d=\"open" ) );
+
+        assertEquals( "quoted value", cookieIndex.get( "a" ) );
+        assertEquals( "", cookieIndex.get( "b" ) );
+        // A lone quote is not a quoted value
+        assertEquals( "\"", cookieIndex.get( "c" ) );
+        assertEquals( "\"open", cookieIndex.get( "d" ) );
+    }
+
+
+    @Test
+    public void testValueContainingEquals() {
+        assertEquals( "YWJj==", CookieIndex.parse( List.of( "token=YWJj==" ) ).get( "token" ) );
+    }
+
+
+    @Test
+    public void testFirstOccurrenceWins() {
+        final CookieIndex cookieIndex = CookieIndex.parse( List.of( "a=1; a=2", "a=3; b=4" ) );
+
+        assertEquals( "1", cookieIndex.get( "a" ) );
+        assertEquals( "4", cookieIndex.get( "b" ) );
+    }
+
+
+    @Test
+    public void testMalformedPairs() {
+        final List< String > names = new ArrayList<>();
+
+        CookieIndex.parse( List.of( "flag; =orphan; ;; empty=; a=1" ) ).forEach( ( name, value ) -> names.add( name + ":" + value ) );
+
+        assertEquals( List.of( "empty:", "a:1" ), names );
+    }
+
+
+    @Test
+    public void testNoHeader() {
+        final List< String > names = new ArrayList<>();
+
+        CookieIndex.parse( List.of() ).forEach( ( name, value ) -> names.add( name ) );
+
+        assertTrue( names.isEmpty() );
+    }
+
+
+    @Test
+    public void testPut() {
+        final CookieIndex cookieIndex = CookieIndex.parse( List.of( "a=1" ) );
+
+        cookieIndex.put( "a", "2" );
+        cookieIndex.put( "b", "3" );
+
+        assertEquals( "2", cookieIndex.get( "a" ) );
+        assertEquals( "3", cookieIndex.get( "b" ) );
+    }
+}
@@ -0,0 +1,112 @@
+package org.romainlavabre.request;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class FormUrlEncodedDecoderTest {
+
+    @Test
+    public void testPercentDecoding() throws IOException {
+        assertEquals(
+                List.of( Map.entry( "q", "hello world!" ), Map.entry( "name", "été" ), Map.entry( "first name", "Zoé" ) ),
+                decode( "q=hello+world%21&name=%C3%A9t%C3%A9&first%20name=Zo%c3%a9" ) );
+    }
+
+
+    @Test
+    public void testRepeatedKeys() throws IOException {
+        assertEquals(
+                List.of( Map.entry( "id", "1" ), Map.entry( "id", "2" ) ),
+                decode( "id=1&id=2" ) );
+    }
+
+
+    @Test
+    public void testEmptyValues() throws IOException {
+        assertEquals(
+                List.of( Map.entry( "a", "" ), Map.entry( "b", "" ), Map.entry( "c", "1=2" ), Map.entry( "", "orphan" ) ),
+                decode( "&a=&b&&c=1=2&=orphan&" ) );
+    }
+
+
+    @Test
+    public void testMalformedEscapes() throws IOException {
+        assertEquals(
+                List.of( Map.entry( "a", "%zz" ), Map.entry( "b", "100%" ), Map.entry( "c", "%4" ), Map.entry( "d", "%Ag" ), Map.entry( "e", "%%41" ) ),
+                decode( "a=%zz&b=100%&c=%4&d=%Ag&e=%%2541" ) );
+    }
+
+
+    @Test
+    public void testEscapeAcrossReads() throws IOException {
+        final String                              body  = "a=%C3%A9%2B+b&long=" + "x".repeat( 5000 ) + "%41";
+        final List< Map.Entry< String, String > > pairs = new ArrayList<>();
+
+        new FormUrlEncodedDecoder( StandardCharsets.UTF_8 ).decode( new OneByteInputStream( body.getBytes( StandardCharsets.US_ASCII ) ), ( name, value ) -> pairs.add( Map.entry( name, value ) ) );
+
+        assertEquals( List.of( Map.entry( "a", "é+ b" ), Map.entry( "long", "x".repeat( 5000 ) + "A" ) ), pairs );
+    }
+
+
+    @Test
+    public void testCharset() throws IOException {
+        assertEquals( List.of( Map.entry( "name", "été" ) ), decode( "name=%E9t%E9", StandardCharsets.ISO_8859_1 ) );
+    }
+
+
+    @Test
+    public void testBytesRead() throws IOException {
+        final byte[] body = "a=1&b=2".getBytes( StandardCharsets.US_ASCII );
+
+        assertEquals( body.length, new FormUrlEncodedDecoder( StandardCharsets.UTF_8 ).decode( new ByteArrayInputStream( body ), ( name, value ) -> {
+        } ) );
+    }
+
+
+    @Test
+    public void testEmptyBody() throws IOException {
+        assertTrue( decode( "" ).isEmpty() );
+    }
+
+
+    private static List< Map.Entry< String, String > > decode( final String body ) throws IOException {
+        return decode( body, StandardCharsets.UTF_8 );
+    }
+
+
+    private static List< Map.Entry< String, String > > decode( final String body, final Charset charset ) throws IOException {
+        final List< Map.Entry< String, String > > pairs = new ArrayList<>();
+
+        new FormUrlEncodedDecoder( charset ).decode( new ByteArrayInputStream( body.getBytes( StandardCharsets.US_ASCII ) ), ( name, value ) -> pairs.add( Map.entry( name, value ) ) );
+
+        return pairs;
+    }
+
+
+    /**
+     * Return a single byte per read, as a slow client
+     */
+    private static class OneByteInputStream extends FilterInputStream {
+
+        OneByteInputStream( final byte[] body ) {
+            super( new ByteArrayInputStream( body ) );
+        }
+
+
+        @Override
+        public int read( final byte[] bytes, final int offset, final int length ) throws IOException {
+            return super.read( bytes, offset, Math.min( length, 1 ) );
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.romainlavabre.request;
+
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class HeaderIndexTest {
+
+    @Test
+    public void testServletHeaders() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+
+        request.addHeader( "Accept", "text/html" );
+        request.addHeader( "Accept", "application/json" );
+        request.addHeader( "X-Empty", "" );
+
+        final HeaderIndex headerIndex = HeaderIndex.of( request );
+
+        assertEquals( "text/html", headerIndex.get( "accept" ) );
+        assertEquals( List.of( "text/html", "application/json" ), headerIndex.getAll( "ACCEPT" ) );
+        assertEquals( "", headerIndex.get( "x-empty" ) );
+        assertNull( headerIndex.get( "Missing" ) );
+        assertTrue( headerIndex.getAll( "Missing" ).isEmpty() );
+    }
+
+
+    @Test
+    public void testReactiveHeaders() {
+        final HttpHeaders headers = new HttpHeaders();
+
+        headers.add( "X-Forwarded-For", "10.0.0.1" );
+        headers.add( "X-Forwarded-For", "10.0.0.2" );
+
+        assertEquals( List.of( "10.0.0.1", "10.0.0.2" ), HeaderIndex.of( headers ).getAll( "x-forwarded-for" ) );
+    }
+
+
+    @Test( expected = UnsupportedOperationException.class )
+    public void testValuesAreReadOnly() {
+        final HeaderIndex headerIndex = new HeaderIndex();
+
+        headerIndex.add( "Accept", "text/html" );
+        headerIndex.getAll( "Accept" ).add( "application/json" );
+    }
+
+
+    @Test
+    public void testLong() {
+        final HeaderIndex headerIndex = new HeaderIndex();
+
+        headerIndex.add( "Content-Length", " 12 " );
+        headerIndex.add( "X-Count", "twelve" );
+
+        assertEquals( Long.valueOf( 12 ), headerIndex.getLong( "content-length" ) );
+        assertNull( headerIndex.getLong( "X-Count" ) );
+        assertNull( headerIndex.getLong( "Missing" ) );
+    }
+
+
+    @Test
+    public void testSetClearsTheParsedValues() {
+        final HeaderIndex headerIndex = new HeaderIndex();
+
+        headerIndex.add( "Content-Length", "12" );
+        headerIndex.add( "Content-Length", "13" );
+        headerIndex.add( "Date", "Sun, 06 Nov 1994 08:49:37 GMT" );
+
+        assertEquals( Long.valueOf( 12 ), headerIndex.getLong( "Content-Length" ) );
+        assertNotNull( headerIndex.getDate( "Date" ) );
+
+        headerIndex.set( "content-length", "42" );
+        headerIndex.set( "Date", "invalid" );
+
+        assertEquals( List.of( "42" ), headerIndex.getAll( "Content-Length" ) );
+        assertEquals( Long.valueOf( 42 ), headerIndex.getLong( "Content-Length" ) );
+        assertNull( headerIndex.getDate( "Date" ) );
+    }
+
+
+    @Test
+    public void testDate() {
+        final HeaderIndex headerIndex = new HeaderIndex();
+
+        headerIndex.add( "If-Modified-Since", "Sun, 06 Nov 1994 08:49:37 GMT" );
+        headerIndex.add( "Expires", "0" );
+
+        assertEquals( Instant.parse( "1994-11-06T08:49:37Z" ), headerIndex.getDate( "If-Modified-Since" ) );
+        assertNull( headerIndex.getDate( "Expires" ) );
+        assertNull( headerIndex.getDate( "Missing" ) );
+        assertNull( HeaderIndex.parseDate( null ) );
+    }
+
+
+    @Test
+    public void testObsoleteDateFormats() {
+        final Instant expected = Instant.parse( "1994-11-06T08:49:37Z" );
+
+        assertEquals( expected, HeaderIndex.parseDate( "Sunday, 06-Nov-94 08:49:37 GMT" ) );
+        assertEquals( expected, HeaderIndex.parseDate( "Sun Nov  6 08:49:37 1994" ) );
+        assertEquals( Instant.parse( "1994-11-16T08:49:37Z" ), HeaderIndex.parseDate( "Wed Nov 16 08:49:37 1994" ) );
+        assertEquals( Instant.parse( "2024-01-02T03:04:05Z" ), HeaderIndex.parseDate( "Tuesday, 02-Jan-24 03:04:05 GMT" ) );
+        // The RFC 1123 day name is optional
+        assertEquals( expected, HeaderIndex.parseDate( "06 Nov 1994 08:49:37 GMT" ) );
+    }
+
+
+    @Test
+    public void testInvalidDates() {
+        assertNull( HeaderIndex.parseDate( "" ) );
+        assertNull( HeaderIndex.parseDate( "Sun Nov 6 08:49:37 1994" ) );
+        assertNull( HeaderIndex.parseDate( "Sunday, 06-Nov-1994 08:49:37 GMT" ) );
+        assertNull( HeaderIndex.parseDate( "Mon, 06 Nov 1994 08:49:37 GMT" ) );
+    }
+}
@@ -0,0 +1,64 @@
+package org.romainlavabre.request;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class KeyTableTest {
+
+    @Test
+    public void testRepeatedKeyIsTheSameInstance() {
+        final KeyTable keyTable = new KeyTable( 16 );
+        final String   key      = keyTable.compose( "order", "id" );
+
+        assertEquals( "order_id", key );
+        assertSame( key, keyTable.compose( "order", "id" ) );
+        assertSame( key, keyTable.compose( new String( "order" ), new String( "id" ) ) );
+    }
+
+
+    @Test
+    public void testLongKeyIsNotStored() {
+        final KeyTable keyTable = new KeyTable( 16 );
+        final String   child    = "a".repeat( KeyTable.MAX_KEY_LENGTH );
+        final String   key      = keyTable.compose( "parent", child );
+
+        assertEquals( "parent_" + child, key );
+        assertNotSame( key, keyTable.compose( "parent", child ) );
+    }
+
+
+    @Test
+    public void testFullTableIsCleared() {
+        final KeyTable keyTable = new KeyTable( 2 );
+        final String   first    = keyTable.compose( "a", "b" );
+
+        keyTable.compose( "a", "c" );
+
+        // Past the capacity the table starts over with the new key
+        final String third = keyTable.compose( "a", "d" );
+
+        assertEquals( "a_d", third );
+        assertSame( third, keyTable.compose( "a", "d" ) );
+
+        final String evicted = keyTable.compose( "a", "b" );
+
+        assertEquals( first, evicted );
+        assertNotSame( first, evicted );
+        assertSame( evicted, keyTable.compose( "a", "b" ) );
+    }
+
+
+    @Test
+    public void testRandomKeysDoNotDisableTheTable() {
+        final KeyTable keyTable = new KeyTable( 64 );
+
+        for ( int i = 0; i < 10000; i++ ) {
+            keyTable.compose( "random", Integer.toString( i ) );
+        }
+
+        final String key = keyTable.compose( "order", "id" );
+
+        assertSame( key, keyTable.compose( "order", "id" ) );
+    }
+}
@@ -0,0 +1,114 @@
+package org.romainlavabre.request;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class MockRequestTest {
+
+    @Test
+    public void testTypedParameters() {
+        final Request request = MockRequest.build( Map.of( "age", "42", "price", 9.5, "active", "true", "empty", "" ) );
+
+        assertEquals( 42, request.getInt( "age", 0 ) );
+        assertEquals( 42L, request.getOptionalLong( "age" ).getAsLong() );
+        assertEquals( 9.5, request.getDouble( "price", 0 ), 0 );
+        assertTrue( request.getBoolean( "active", false ) );
+        assertEquals( 7, request.getInt( "empty", 7 ) );
+        assertFalse( request.getOptionalInt( "missing" ).isPresent() );
+        assertEquals( Integer.valueOf( 42 ), request.getParameter( "age", Integer.class ) );
+    }
+
+
+    @Test
+    public void testParameterView() {
+        final MockRequest request = new MockRequest();
+
+        request.setParameter( "user_name", "Zoé" );
+        request.setParameter( "user_age", 42 );
+        request.setParameter( "other", true );
+
+        final Map< String, Object > view = request.getParameterView( "user_" );
+
+        assertEquals( Map.of( "name", "Zoé", "age", 42 ), view );
+
+        request.setParameter( "user_city", "Lyon" );
+
+        assertEquals( "Lyon", view.get( "city" ) );
+        assertEquals( 3, view.size() );
+    }
+
+
+    @Test( expected = UnsupportedOperationException.class )
+    public void testParameterViewIsReadOnly() {
+        MockRequest.build( Map.of( "user_name", "Zoé" ) ).getParameterView( "user_" ).put( "age", 42 );
+    }
+
+
+    @Test
+    public void testFilesAreParameters() {
+        final UploadedFile first   = new UploadedFileImpl();
+        final UploadedFile second  = new UploadedFileImpl();
+        final MockRequest  request = new MockRequest();
+
+        request.setUploadedFile( "document", first );
+        request.setUploadedFile( "image", second );
+
+        assertSame( first, request.getFile( "document" ) );
+        assertEquals( List.of( second ), request.getFiles( "image" ) );
+        assertSame( first, request.getAllParameters().get( "document" ) );
+    }
+
+
+    @Test
+    public void testHeaders() {
+        final MockRequest request = new MockRequest();
+
+        request.setHeader( "Content-Length", "12" );
+        request.setHeader( "If-Modified-Since", "Sun, 06 Nov 1994 08:49:37 GMT" );
+
+        assertEquals( "12", request.getHeader( "content-length" ) );
+        assertEquals( Long.valueOf( 12 ), request.getLongHeader( "CONTENT-LENGTH" ) );
+        assertEquals( Instant.parse( "1994-11-06T08:49:37Z" ), request.getDateHeader( "if-modified-since" ) );
+
+        request.setHeader( "content-length", "13" );
+
+        assertEquals( Long.valueOf( 13 ), request.getLongHeader( "Content-Length" ) );
+        assertEquals( List.of( "13" ), request.getHeaders( "Content-Length" ) );
+    }
+
+
+    @Test
+    public void testQueryStrings() {
+        final MockRequest request = new MockRequest();
+
+        request.setQueryString( "page", "2" );
+
+        assertEquals( "2", request.getQueryString( "page" ) );
+        assertEquals( List.of( "2" ), request.getQueryStrings( "page" ) );
+        assertEquals( "2", request.getFormUrlEncodedParameter( "page" ) );
+        assertTrue( request.getQueryStrings( "missing" ).isEmpty() );
+    }
+
+
+    @Test
+    public void testInvalidCookieNameIsSkipped() {
+        final MockRequest request = new MockRequest();
+
+        request.setCookie( "session", "abc" );
+        request.setCookie( "a,b", "skipped" );
+
+        final Cookie[] cookies = request.getCookies();
+
+        assertEquals( 1, cookies.length );
+        assertEquals( "session", cookies[ 0 ].getName() );
+        assertEquals( "abc", request.getCookie( "session" ).getValue() );
+        assertNull( request.getCookie( "a,b" ) );
+        assertEquals( "skipped", request.getCookieValue( "a,b" ) );
+    }
+}
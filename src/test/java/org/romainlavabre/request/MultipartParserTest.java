@@ -0,0 +1,204 @@
+package org.romainlavabre.request;
+
+import org.junit.Test;
+import org.romainlavabre.request.exception.Http400Exception;
+import org.romainlavabre.request.exception.Http413Exception;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MultipartParserTest {
+
+    private static final String BOUNDARY = "----boundary7MA4YWxk";
+
+    /**
+     * Size of the parser window
+     */
+    private static final int WINDOW = 16384;
+
+
+    @Test
+    public void testDelimiterAtEveryOffsetOfTheWindow() throws IOException {
+        final byte[] after  = "after".getBytes( StandardCharsets.US_ASCII );
+        final int    header = part( "file", "a.bin", new byte[ 0 ] ).length - 2;
+
+        // The delimiter of the first part starts before, across and after the end of the first window
+        for ( int length = WINDOW - header - 40; length <= WINDOW - header + 10; length++ ) {
+            final byte[] content = content( length );
+            final byte[] body    = body( part( "file", "a.bin", content ), part( "field", null, after ) );
+
+            for ( final int chunk : new int[]{ 1, 7, 4096, WINDOW } ) {
+                final List< byte[] > parts = parse( new ChunkedInputStream( body, chunk ) );
+
+                assertEquals( 2, parts.size() );
+                assertArrayEquals( "length " + length + ", chunk " + chunk, content, parts.get( 0 ) );
+                assertArrayEquals( after, parts.get( 1 ) );
+            }
+        }
+    }
+
+
+    @Test
+    public void testPartialDelimiterInContentIsKept() throws IOException {
+        final String trap    = "a\r\n--" + BOUNDARY.substring( 0, BOUNDARY.length() - 1 ) + "X\r\n-" + "\r\n--";
+        final byte[] content = trap.getBytes( StandardCharsets.US_ASCII );
+
+        for ( final int chunk : new int[]{ 1, 3, WINDOW } ) {
+            final List< byte[] > parts = parse( new ChunkedInputStream( body( part( "field", null, content ) ), chunk ) );
+
+            assertEquals( 1, parts.size() );
+            assertArrayEquals( content, parts.get( 0 ) );
+        }
+    }
+
+
+    @Test
+    public void testEmptyBody() throws IOException {
+        assertEquals( 0, new MultipartParser( new ByteArrayInputStream( new byte[ 0 ] ), BOUNDARY ).parse( new Collector() ) );
+    }
+
+
+    @Test( expected = Http400Exception.class )
+    public void testMissingClosingDelimiter() throws IOException {
+        final byte[] body = body( part( "field", null, "value".getBytes( StandardCharsets.US_ASCII ) ) );
+
+        parse( new ByteArrayInputStream( Arrays.copyOf( body, body.length - BOUNDARY.length() - 6 ) ) );
+    }
+
+
+    @Test
+    public void testBoundaryParameter() {
+        assertEquals( "abc", MultipartParser.getBoundary( "multipart/form-data; boundary=abc" ) );
+        assertEquals( "a b:c", MultipartParser.getBoundary( "multipart/form-data; BOUNDARY=\"a b:c\"" ) );
+        assertNull( MultipartParser.getBoundary( "multipart/form-data" ) );
+    }
+
+
+    @Test
+    public void testFieldsAndFilesIntoParameters() throws IOException {
+        final ParameterMap parameters = new ParameterMap();
+        final BodyParser   bodyParser = new BodyParser( parameters, new RequestConfiguration().setSpoolThreshold( 1024 ), DefaultObjectMapperProvider.getDefault() );
+        final byte[]       file       = content( 5000 );
+
+        try {
+            bodyParser.parseMultipart( new ByteArrayInputStream( body(
+                    part( "name", null, "Zoé".getBytes( StandardCharsets.UTF_8 ) ),
+                    part( "upload", "file.bin", file ) ) ), BOUNDARY, StandardCharsets.UTF_8 );
+
+            assertEquals( "Zoé", parameters.get( "name" ) );
+
+            final UploadedFile uploadedFile = ( UploadedFile ) parameters.get( "upload" );
+
+            assertEquals( "file.bin", uploadedFile.getName() );
+            assertArrayEquals( file, uploadedFile.getContent() );
+        } finally {
+            bodyParser.release();
+        }
+    }
+
+
+    @Test( expected = Http413Exception.class )
+    public void testSimpleFieldsAreLimited() throws IOException {
+        final BodyParser bodyParser = new BodyParser( new ParameterMap(), new RequestConfiguration().setMaxBodySize( 1000 ), DefaultObjectMapperProvider.getDefault() );
+
+        bodyParser.parseMultipart( new ByteArrayInputStream( body(
+                part( "a", null, content( 600 ) ),
+                part( "b", null, content( 600 ) ) ) ), BOUNDARY, StandardCharsets.UTF_8 );
+    }
+
+
+    private static List< byte[] > parse( final InputStream inputStream ) throws IOException {
+        final Collector collector = new Collector();
+
+        new MultipartParser( inputStream, BOUNDARY ).parse( collector );
+
+        return collector.parts;
+    }
+
+
+    private static byte[] content( final int length ) {
+        final byte[] content = new byte[ length ];
+
+        for ( int i = 0; i < length; i++ ) {
+            // CR, LF and dashes included
+            content[ i ] = ( byte ) "\r\n-abc\r-\n".charAt( i % 9 );
+        }
+
+        return content;
+    }
+
+
+    private static byte[] part( final String name, final String filename, final byte[] content ) throws IOException {
+        final ByteArrayOutputStream part = new ByteArrayOutputStream();
+
+        part.write( ( "--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name + "\""
+                + ( filename == null ? "" : "; filename=\"" + filename + "\"\r\nContent-Type: application/octet-stream" )
+                + "\r\n\r\n" ).getBytes( StandardCharsets.UTF_8 ) );
+        part.write( content );
+        part.write( "\r\n".getBytes( StandardCharsets.US_ASCII ) );
+
+        return part.toByteArray();
+    }
+
+
+    private static byte[] body( final byte[]... parts ) throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        for ( final byte[] part : parts ) {
+            body.write( part );
+        }
+
+        body.write( ( "--" + BOUNDARY + "--\r\n" ).getBytes( StandardCharsets.US_ASCII ) );
+
+        return body.toByteArray();
+    }
+
+
+    private static class Collector implements MultipartParser.Listener {
+
+        private final List< byte[] >        parts = new ArrayList<>();
+        private       ByteArrayOutputStream current;
+
+
+        @Override
+        public OutputStream startPart( final String name, final String filename, final String contentType ) {
+            return this.current = new ByteArrayOutputStream();
+        }
+
+
+        @Override
+        public void endPart() {
+            this.parts.add( this.current.toByteArray() );
+        }
+    }
+
+
+    /**
+     * Return at most <code>chunk</code> bytes per read, as a slow network does
+     */
+    private static class ChunkedInputStream extends ByteArrayInputStream {
+
+        private final int chunk;
+
+
+        ChunkedInputStream( final byte[] bytes, final int chunk ) {
+            super( bytes );
+            this.chunk = chunk;
+        }
+
+
+        @Override
+        public synchronized int read( final byte[] bytes, final int offset, final int length ) {
+            return super.read( bytes, offset, Math.min( length, this.chunk ) );
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package org.romainlavabre.request;
+
+import org.junit.Test;
+import org.romainlavabre.request.exception.Http422Exception;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ParameterBinderTest {
+
+    @Test
+    public void testRecord() {
+        final Person person = ParameterBinder.bind( parameters( "name", "Zoé", "age", 42 ), Person.class );
+
+        assertEquals( "Zoé", person.name() );
+        assertEquals( 42, person.age() );
+    }
+
+
+    @Test
+    public void testRecordConvertsStrings() {
+        assertEquals( 42, ParameterBinder.bind( parameters( "name", "Zoé", "age", "42" ), Person.class ).age() );
+    }
+
+
+    @Test
+    public void testBean() {
+        final UUID  reference = UUID.randomUUID();
+        final Order order     = ParameterBinder.bind( parameters(
+                "id", "7",
+                "status", "PAID",
+                "reference", reference.toString(),
+                "tags", List.of( "a", "b", "a" ),
+                "lines", List.of( 1, "2" ) ), Order.class );
+
+        assertEquals( Long.valueOf( 7 ), order.getId() );
+        assertEquals( Status.PAID, order.getStatus() );
+        assertEquals( reference, order.getReference() );
+        assertEquals( new LinkedHashSet<>( List.of( "a", "b" ) ), order.getTags() );
+        assertEquals( List.of( 1, 2 ), order.getLines() );
+    }
+
+
+    @Test
+    public void testSnakeCaseKey() {
+        final Order order = ParameterBinder.bind( parameters( "created_by", "admin" ), Order.class );
+
+        assertEquals( "admin", order.getCreatedBy() );
+        assertEquals( "admin", ParameterBinder.bind( parameters( "createdBy", "admin" ), Order.class ).getCreatedBy() );
+    }
+
+
+    @Test
+    public void testNestedPrefix() {
+        final Order order = ParameterBinder.bind( parameters(
+                "id", 1,
+                "customer_name", "Zoé",
+                "customer_age", "42",
+                "customer_address_city", "Lyon",
+                "customer_address_zip_code", "69000" ), Order.class );
+
+        assertEquals( "Zoé", order.getCustomer().name() );
+        assertEquals( 42, order.getCustomer().age() );
+        assertEquals( "Lyon", order.getCustomer().address().city() );
+        assertEquals( "69000", order.getCustomer().address().zipCode() );
+    }
+
+
+    @Test
+    public void testNestedMap() {
+        final Order order = ParameterBinder.bind( parameters( "customer", Map.of( "name", "Zoé", "age", 42 ) ), Order.class );
+
+        assertEquals( "Zoé", order.getCustomer().name() );
+        assertEquals( 42, order.getCustomer().age() );
+    }
+
+
+    @Test
+    public void testMissingFields() {
+        final Person person = ParameterBinder.bind( parameters(), Person.class );
+
+        assertNull( person.name() );
+        assertEquals( 0, person.age() );
+        assertNull( person.address() );
+
+        final Order order = ParameterBinder.bind( parameters( "id", "" ), Order.class );
+
+        assertNull( order.getId() );
+        assertNull( order.getCustomer() );
+        assertEquals( 3, order.getPriority() );
+    }
+
+
+    @Test( expected = Http422Exception.class )
+    public void testConversionFailure() {
+        ParameterBinder.bind( parameters( "age", "forty-two" ), Person.class );
+    }
+
+
+    @Test( expected = Http422Exception.class )
+    public void testUnknownEnumConstant() {
+        ParameterBinder.bind( parameters( "status", "LOST" ), Order.class );
+    }
+
+
+    @Test( expected = Http422Exception.class )
+    public void testNestedConversionFailure() {
+        ParameterBinder.bind( parameters( "customer_age", "forty-two" ), Order.class );
+    }
+
+
+    private static Map< String, Object > parameters( final Object... entries ) {
+        final ParameterMap parameters = new ParameterMap();
+
+        for ( int i = 0; i < entries.length; i += 2 ) {
+            parameters.put( ( String ) entries[ i ], entries[ i + 1 ] );
+        }
+
+        return parameters;
+    }
+
+
+    public enum Status {
+        PENDING,
+        PAID
+    }
+
+
+    public record Address( String city, String zipCode ) {
+    }
+
+
+    public record Person( String name, int age, Address address ) {
+    }
+
+
+    public static class Order {
+
+        private Long            id;
+        private Status          status;
+        private UUID            reference;
+        private String          createdBy;
+        private Set< String >   tags;
+        private List< Integer > lines;
+        private Person          customer;
+        private int             priority = 3;
+
+
+        public Long getId() {
+            return this.id;
+        }
+
+
+        public void setId( final Long id ) {
+            this.id = id;
+        }
+
+
+        public Status getStatus() {
+            return this.status;
+        }
+
+
+        public void setStatus( final Status status ) {
+            this.status = status;
+        }
+
+
+        public UUID getReference() {
+            return this.reference;
+        }
+
+
+        public void setReference( final UUID reference ) {
+            this.reference = reference;
+        }
+
+
+        public String getCreatedBy() {
+            return this.createdBy;
+        }
+
+
+        public void setCreatedBy( final String createdBy ) {
+            this.createdBy = createdBy;
+        }
+
+
+        public Set< String > getTags() {
+            return this.tags;
+        }
+
+
+        public void setTags( final Set< String > tags ) {
+            this.tags = tags;
+        }
+
+
+        public List< Integer > getLines() {
+            return this.lines;
+        }
+
+
+        public void setLines( final List< Integer > lines ) {
+            this.lines = lines;
+        }
+
+
+        public Person getCustomer() {
+            return this.customer;
+        }
+
+
+        public void setCustomer( final Person customer ) {
+            this.customer = customer;
+        }
+
+
+        public int getPriority() {
+            return this.priority;
+        }
+
+
+        public void setPriority( final int priority ) {
+            this.priority = priority;
+        }
+    }
+}
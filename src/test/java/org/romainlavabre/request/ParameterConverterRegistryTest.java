@@ -0,0 +1,116 @@
+package org.romainlavabre.request;
+
+import org.junit.Test;
+import org.romainlavabre.request.exception.Http400Exception;
+import org.romainlavabre.request.exception.Http422Exception;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class ParameterConverterRegistryTest {
+
+    private final ParameterConverterRegistry registry = new ParameterConverterRegistry();
+
+
+    @Test
+    public void testNumbers() {
+        assertEquals( Integer.valueOf( 42 ), this.registry.convert( "42", Integer.class ) );
+        assertEquals( Long.valueOf( 42 ), this.registry.convert( 42, Long.class ) );
+        assertEquals( Double.valueOf( 9.5 ), this.registry.convert( "9.5", Double.class ) );
+        assertEquals( new BigDecimal( "0.10" ), this.registry.convert( "0.10", BigDecimal.class ) );
+        assertEquals( BigInteger.TEN, this.registry.convert( 10L, BigInteger.class ) );
+    }
+
+
+    @Test
+    public void testEnum() {
+        assertEquals( Status.PAID, this.registry.convert( "PAID", Status.class ) );
+        assertSame( this.registry.find( Status.class ), this.registry.find( Status.class ) );
+    }
+
+
+    @Test( expected = Http422Exception.class )
+    public void testUnknownEnumConstant() {
+        this.registry.convert( "LOST", Status.class );
+    }
+
+
+    @Test( expected = Http422Exception.class )
+    public void testEnumIsCaseSensitive() {
+        this.registry.convert( "paid", Status.class );
+    }
+
+
+    @Test
+    public void testUuid() {
+        final UUID uuid = UUID.randomUUID();
+
+        assertEquals( uuid, this.registry.convert( uuid.toString(), UUID.class ) );
+        assertSame( uuid, this.registry.convert( uuid, UUID.class ) );
+    }
+
+
+    @Test( expected = Http422Exception.class )
+    public void testInvalidUuid() {
+        this.registry.convert( "not-a-uuid", UUID.class );
+    }
+
+
+    @Test
+    public void testInstant() {
+        assertEquals( Instant.parse( "2024-01-02T03:04:05Z" ), this.registry.convert( "2024-01-02T03:04:05Z", Instant.class ) );
+        assertEquals( Instant.ofEpochMilli( 1704164645000L ), this.registry.convert( 1704164645000L, Instant.class ) );
+        assertEquals( LocalDate.of( 2024, 1, 2 ), this.registry.convert( "2024-01-02", LocalDate.class ) );
+    }
+
+
+    @Test( expected = Http422Exception.class )
+    public void testInvalidInstant() {
+        this.registry.convert( "2024-01-02", Instant.class );
+    }
+
+
+    @Test( expected = Http422Exception.class )
+    public void testInvalidNumber() {
+        this.registry.convert( "forty-two", Integer.class );
+    }
+
+
+    @Test( expected = Http400Exception.class )
+    public void testUnsupportedType() {
+        this.registry.convert( "value", StringBuilder.class );
+    }
+
+
+    @Test
+    public void testRegister() {
+        this.registry.register( StringBuilder.class, value -> new StringBuilder( value.toString() ) );
+        this.registry.register( Integer.class, value -> -1 );
+
+        assertEquals( "value", this.registry.convert( "value", StringBuilder.class ).toString() );
+        assertEquals( Integer.valueOf( -1 ), this.registry.convert( "42", Integer.class ) );
+        // The shared registry is untouched
+        assertNull( ParameterConverterRegistry.getInstance().find( StringBuilder.class ) );
+    }
+
+
+    @Test( expected = Http422Exception.class )
+    public void testConverterFailure() {
+        this.registry.register( StringBuilder.class, value -> {
+            throw new IllegalStateException();
+        } );
+
+        this.registry.convert( "value", StringBuilder.class );
+    }
+
+
+    public enum Status {
+        PENDING,
+        PAID
+    }
+}
@@ -0,0 +1,130 @@
+package org.romainlavabre.request;
+
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ParameterMapTest {
+
+    @Test
+    public void testWithPrefixStripsThePrefix() {
+        final ParameterMap parameters = parameters();
+
+        assertEquals( Map.of( "name", "John", "age", 30, "address_street", "Main" ), parameters.withPrefix( "user_" ) );
+        assertEquals( Map.of( "street", "Main" ), parameters.withPrefix( "user_address_" ) );
+    }
+
+
+    @Test
+    public void testWithPrefixIsLiteral() {
+        final ParameterMap parameters = new ParameterMap();
+
+        parameters.put( "a.b", 1 );
+        parameters.put( "axb", 2 );
+
+        assertEquals( Map.of( "b", 1 ), parameters.withPrefix( "a." ) );
+    }
+
+
+    @Test
+    public void testWithPrefixWithoutMatch() {
+        final ParameterMap parameters = parameters();
+
+        assertTrue( parameters.withPrefix( "unknown_" ).isEmpty() );
+        assertFalse( parameters.hasPrefix( "unknown_" ) );
+        assertTrue( parameters.hasPrefix( "user_" ) );
+    }
+
+
+    @Test
+    public void testEmptyPrefixReturnsEverything() {
+        final ParameterMap parameters = parameters();
+
+        assertEquals( parameters, parameters.withPrefix( "" ) );
+    }
+
+
+    @Test
+    public void testViewFollowsChanges() {
+        final ParameterMap          parameters = parameters();
+        final Map< String, Object > view       = parameters.withPrefix( "user_" );
+
+        parameters.put( "user_email", "john@example.com" );
+        parameters.remove( "user_age" );
+
+        assertEquals( Map.of( "name", "John", "address_street", "Main", "email", "john@example.com" ), view );
+    }
+
+
+    @Test
+    public void testIndexFollowsIteratorRemoval() {
+        final ParameterMap parameters = parameters();
+
+        parameters.withPrefix( "" );
+
+        final Iterator< Map.Entry< String, Object > > iterator = parameters.entrySet().iterator();
+
+        while ( iterator.hasNext() ) {
+            if ( iterator.next().getKey().startsWith( "user_" ) ) {
+                iterator.remove();
+            }
+        }
+
+        assertTrue( parameters.withPrefix( "user_" ).isEmpty() );
+        assertEquals( 1, parameters.withPrefix( "" ).size() );
+    }
+
+
+    @Test( expected = UnsupportedOperationException.class )
+    public void testViewIsReadOnly() {
+        parameters().withPrefix( "user_" ).put( "x", 1 );
+    }
+
+
+    @Test
+    public void testNullKeyNeverMatches() {
+        final ParameterMap parameters = parameters();
+
+        parameters.put( null, "null" );
+        parameters.withPrefix( "" );
+        parameters.put( null, "again" );
+
+        assertEquals( "again", parameters.get( null ) );
+        assertEquals( 4, parameters.withPrefix( "" ).size() );
+
+        parameters.remove( null );
+        parameters.remove( 42 );
+
+        assertEquals( 4, parameters.size() );
+    }
+
+
+    @Test
+    public void testGetAllParametersReturnsAMutableCopy() {
+        final MockRequest request = new MockRequest();
+
+        request.setParameter( "user_name", "John" );
+
+        final Map< String, Object > parameters = request.getAllParameters( "user_" );
+
+        parameters.put( "role", "admin" );
+
+        assertEquals( Map.of( "name", "John", "role", "admin" ), parameters );
+        assertNull( request.getParameter( "user_role" ) );
+    }
+
+
+    private static ParameterMap parameters() {
+        final ParameterMap parameters = new ParameterMap();
+
+        parameters.put( "user_name", "John" );
+        parameters.put( "user_age", 30 );
+        parameters.put( "user_address_street", "Main" );
+        parameters.put( "other", true );
+
+        return parameters;
+    }
+}
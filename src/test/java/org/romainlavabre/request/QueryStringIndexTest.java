@@ -0,0 +1,65 @@
+package org.romainlavabre.request;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class QueryStringIndexTest {
+
+    @Test
+    public void testPercentDecoding() {
+        final QueryStringIndex queryStringIndex = QueryStringIndex.parse( "q=hello+world%21&name=%C3%A9t%C3%A9&first%20name=Zo%C3%A9" );
+
+        assertEquals( "hello world!", queryStringIndex.get( "q" ) );
+        assertEquals( "été", queryStringIndex.get( "name" ) );
+        assertEquals( "Zoé", queryStringIndex.get( "first name" ) );
+    }
+
+
+    @Test
+    public void testRepeatedKeys() {
+        final QueryStringIndex queryStringIndex = QueryStringIndex.parse( "id=1&other=x&id=2&id=3" );
+
+        assertEquals( "1", queryStringIndex.get( "id" ) );
+        assertEquals( List.of( "1", "2", "3" ), queryStringIndex.getAll( "id" ) );
+        assertSame( queryStringIndex.getAll( "id" ), queryStringIndex.getAll( "id" ) );
+    }
+
+
+    @Test
+    public void testEmptyValues() {
+        final QueryStringIndex queryStringIndex = QueryStringIndex.parse( "&a=&b&&c=1=2&" );
+
+        assertEquals( "", queryStringIndex.get( "a" ) );
+        assertEquals( "", queryStringIndex.get( "b" ) );
+        assertEquals( "1=2", queryStringIndex.get( "c" ) );
+        assertNull( queryStringIndex.get( "" ) );
+    }
+
+
+    @Test
+    public void testMalformedEscapes() {
+        final QueryStringIndex queryStringIndex = QueryStringIndex.parse( "a=%zz&b=100%&c=%4" );
+
+        assertEquals( "%zz", queryStringIndex.get( "a" ) );
+        assertEquals( "100%", queryStringIndex.get( "b" ) );
+        assertEquals( "%4", queryStringIndex.get( "c" ) );
+    }
+
+
+    @Test
+    public void testMissing() {
+        assertNull( QueryStringIndex.parse( "a=1" ).get( "b" ) );
+        assertTrue( QueryStringIndex.parse( "a=1" ).getAll( "b" ).isEmpty() );
+        assertNull( QueryStringIndex.parse( null ).get( "a" ) );
+        assertTrue( QueryStringIndex.parse( "" ).getAll( "a" ).isEmpty() );
+    }
+
+
+    @Test( expected = UnsupportedOperationException.class )
+    public void testValuesAreReadOnly() {
+        QueryStringIndex.parse( "a=1" ).getAll( "a" ).add( "2" );
+    }
+}
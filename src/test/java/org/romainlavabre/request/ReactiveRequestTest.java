@@ -0,0 +1,286 @@
+package org.romainlavabre.request;
+
+import org.junit.Test;
+import org.romainlavabre.request.exception.Http413Exception;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+public class ReactiveRequestTest {
+
+    private static final ObjectMapperProvider OBJECT_MAPPER_PROVIDER = DefaultObjectMapperProvider.getDefault();
+
+
+    @Test
+    public void testSmallBodyIsParsedInline() {
+        final byte[] json = "{\"name\":\"value\",\"user\":{\"age\":42}}".getBytes( StandardCharsets.UTF_8 );
+
+        final String name = ReactiveRequest.with( exchange( "application/json", json ), new RequestConfiguration(), OBJECT_MAPPER_PROVIDER, request -> {
+            assertEquals( 42, request.getInt( "user_age", 0 ) );
+            assertEquals( new String( json, StandardCharsets.UTF_8 ), request.getBody() );
+
+            return Mono.just( ( String ) request.getParameter( "name" ) );
+        } ).block();
+
+        assertEquals( "value", name );
+    }
+
+
+    @Test
+    public void testBodyAboveOneChunkIsParsedOnTheElasticScheduler() {
+        final ThreadDecoder threadDecoder = new ThreadDecoder();
+
+        BodyDecoderRegistry.getInstance().register( threadDecoder );
+
+        ReactiveRequest.of( exchange( ThreadDecoder.MEDIA_TYPE, body( 100 ) ), new RequestConfiguration(), OBJECT_MAPPER_PROVIDER ).block().destroy();
+
+        assertFalse( threadDecoder.thread.get().startsWith( "boundedElastic" ) );
+
+        ReactiveRequest.of( exchange( ThreadDecoder.MEDIA_TYPE, body( BodyBuffer.CHUNK_SIZE + 1 ) ), new RequestConfiguration(), OBJECT_MAPPER_PROVIDER ).block().destroy();
+
+        assertTrue( threadDecoder.thread.get().startsWith( "boundedElastic" ) );
+    }
+
+
+    @Test
+    public void testBodySplitOverSeveralChunksAndDataBuffers() {
+        final String value = new String( body( 3 * BodyBuffer.CHUNK_SIZE + 17 ), StandardCharsets.US_ASCII );
+        final byte[] json  = ( "{\"value\":\"" + value + "\"}" ).getBytes( StandardCharsets.UTF_8 );
+
+        final ReactiveRequest request = ReactiveRequest.of( exchange( "application/json", split( json, 1000 ) ), new RequestConfiguration(), OBJECT_MAPPER_PROVIDER ).block();
+
+        try {
+            assertEquals( value, request.getParameter( "value" ) );
+            assertEquals( json.length, request.getBody().length() );
+        } finally {
+            request.destroy();
+        }
+    }
+
+
+    @Test( expected = Http413Exception.class )
+    public void testDeclaredLengthAboveMaxSize() {
+        final MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post( "/" )
+                                     .contentType( MediaType.APPLICATION_JSON )
+                                     .contentLength( 2000 )
+                                     .body( Flux.just( DefaultDataBufferFactory.sharedInstance.wrap( body( 2000 ) ) ) ) );
+
+        ReactiveRequest.of( exchange, new RequestConfiguration().setMaxBodySize( 1000 ), OBJECT_MAPPER_PROVIDER ).block();
+    }
+
+
+    @Test( expected = Http413Exception.class )
+    public void testUndeclaredLengthAboveMaxSize() {
+        ReactiveRequest.of( exchange( "application/json", split( body( 2000 ), 300 ) ), new RequestConfiguration().setMaxBodySize( 1000 ), OBJECT_MAPPER_PROVIDER ).block();
+    }
+
+
+    @Test
+    public void testGzipBody() throws IOException {
+        final byte[]                json    = "{\"name\":\"value\"}".getBytes( StandardCharsets.UTF_8 );
+        final ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+
+        try ( final GZIPOutputStream gzipOutputStream = new GZIPOutputStream( gzipped ) ) {
+            gzipOutputStream.write( json );
+        }
+
+        final MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post( "/" )
+                                     .contentType( MediaType.APPLICATION_JSON )
+                                     .header( "Content-Encoding", "gzip" )
+                                     .body( Flux.just( DefaultDataBufferFactory.sharedInstance.wrap( gzipped.toByteArray() ) ) ) );
+
+        final ReactiveRequest request = ReactiveRequest.of( exchange, new RequestConfiguration(), OBJECT_MAPPER_PROVIDER ).block();
+
+        try {
+            assertEquals( "value", request.getParameter( "name" ) );
+            assertEquals( "{\"name\":\"value\"}", request.getBody() );
+        } finally {
+            request.destroy();
+        }
+    }
+
+
+    @Test
+    public void testMultipartBody() {
+        final String boundary = "----reactive";
+        final byte[] file     = body( 3000 );
+        final byte[] body     = concat(
+                ( "--" + boundary + "\r\nContent-Disposition: form-data; name=\"name\"\r\n\r\nZoé\r\n" ).getBytes( StandardCharsets.UTF_8 ),
+                ( "--" + boundary + "\r\nContent-Disposition: form-data; name=\"upload\"; filename=\"file.txt\"\r\nContent-Type: text/plain\r\n\r\n" ).getBytes( StandardCharsets.UTF_8 ),
+                file,
+                ( "\r\n--" + boundary + "--\r\n" ).getBytes( StandardCharsets.UTF_8 ) );
+
+        final ReactiveRequest request = ReactiveRequest.of( exchange( "multipart/form-data; boundary=" + boundary, split( body, 512 ) ), new RequestConfiguration().setSpoolThreshold( 1024 ), OBJECT_MAPPER_PROVIDER )
+                                                       .block();
+
+        try {
+            assertEquals( "Zoé", request.getParameter( "name" ) );
+            assertEquals( "file.txt", request.getFile( "upload" ).getName() );
+            assertArrayEquals( file, request.getFile( "upload" ).getContent() );
+            // Streamed bodies are never retained
+            assertNull( request.getBody() );
+        } finally {
+            request.destroy();
+        }
+    }
+
+
+    @Test
+    public void testCancelDuringElasticParseKeepsTheBody() throws InterruptedException {
+        final SlowDecoder slowDecoder = new SlowDecoder();
+        final byte[]      body        = body( 3 * BodyBuffer.CHUNK_SIZE );
+
+        BodyDecoderRegistry.getInstance().register( slowDecoder );
+
+        final Disposable subscription = ReactiveRequest.of( exchange( SlowDecoder.MEDIA_TYPE, body ), new RequestConfiguration(), OBJECT_MAPPER_PROVIDER )
+                                                       .subscribe();
+
+        assertTrue( slowDecoder.started.await( 10, TimeUnit.SECONDS ) );
+
+        // The cancel destroys the request while the decoder still owns the chunks
+        subscription.dispose();
+        slowDecoder.proceed.countDown();
+
+        assertTrue( slowDecoder.parsed.await( 10, TimeUnit.SECONDS ) );
+        assertArrayEquals( body, slowDecoder.read.get() );
+    }
+
+
+    private static MockServerWebExchange exchange( final String contentType, final byte[]... dataBuffers ) {
+        return MockServerWebExchange.from(
+                MockServerHttpRequest.post( "/" )
+                                     .contentType( MediaType.parseMediaType( contentType ) )
+                                     .body( Flux.fromArray( dataBuffers ).map( bytes -> ( DataBuffer ) DefaultDataBufferFactory.sharedInstance.wrap( bytes ) ) ) );
+    }
+
+
+    private static byte[][] split( final byte[] bytes, final int size ) {
+        final List< byte[] > parts = new ArrayList<>();
+
+        for ( int offset = 0; offset < bytes.length; offset += size ) {
+            parts.add( Arrays.copyOfRange( bytes, offset, Math.min( bytes.length, offset + size ) ) );
+        }
+
+        return parts.toArray( new byte[ 0 ][] );
+    }
+
+
+    private static byte[] concat( final byte[]... parts ) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        for ( final byte[] part : parts ) {
+            outputStream.writeBytes( part );
+        }
+
+        return outputStream.toByteArray();
+    }
+
+
+    private static byte[] body( final int size ) {
+        final byte[] body = new byte[ size ];
+
+        for ( int i = 0; i < size; i++ ) {
+            body[ i ] = ( byte ) ( 'a' + i % 26 );
+        }
+
+        return body;
+    }
+
+
+    /**
+     * Retainable decoder recording the thread it runs on
+     */
+    private static class ThreadDecoder implements BodyDecoder {
+
+        static final String MEDIA_TYPE = "application/x-thread";
+
+        final AtomicReference< String > thread = new AtomicReference<>();
+
+
+        @Override
+        public Collection< String > getMediaTypes() {
+            return List.of( MEDIA_TYPE );
+        }
+
+
+        @Override
+        public void decode( final BodyContext context ) {
+            this.thread.set( Thread.currentThread().getName() );
+        }
+    }
+
+
+    /**
+     * Streamed decoder (parsed on the bounded elastic scheduler) waiting for the test before reading the body
+     */
+    private static class SlowDecoder implements BodyDecoder {
+
+        static final String MEDIA_TYPE = "application/x-slow-parse";
+
+        final CountDownLatch            started = new CountDownLatch( 1 );
+        final CountDownLatch            proceed = new CountDownLatch( 1 );
+        final CountDownLatch            parsed  = new CountDownLatch( 1 );
+        final AtomicReference< byte[] > read    = new AtomicReference<>();
+
+
+        @Override
+        public Collection< String > getMediaTypes() {
+            return List.of( MEDIA_TYPE );
+        }
+
+
+        @Override
+        public boolean isRetainable() {
+            return false;
+        }
+
+
+        @Override
+        public void decode( final BodyContext context ) throws IOException {
+            this.started.countDown();
+
+            // The cancel interrupts the elastic worker, keep waiting as a decoder ignoring interrupts would
+            boolean interrupted = false;
+
+            while ( this.proceed.getCount() > 0 ) {
+                try {
+                    this.proceed.await();
+                } catch ( InterruptedException e ) {
+                    interrupted = true;
+                }
+            }
+
+            if ( interrupted ) {
+                Thread.currentThread().interrupt();
+            }
+
+            try ( final InputStream inputStream = context.getInputStream() ) {
+                this.read.set( inputStream.readAllBytes() );
+            } finally {
+                this.parsed.countDown();
+            }
+        }
+    }
+}
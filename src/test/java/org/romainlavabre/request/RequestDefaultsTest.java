@@ -0,0 +1,145 @@
+package org.romainlavabre.request;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * The methods added to {@link Request} after its first release have a default body, an implementation outside of
+ * this library only provides the original methods
+ */
+public class RequestDefaultsTest {
+
+    private static final Map< String, Object > REQUEST_LINE = Map.of(
+            "getMethod", "POST",
+            "getScheme", "https",
+            "getHost", "domain.ext",
+            "getPort", 443,
+            "getUri", "/api",
+            "getBaseUrl", "https://domain.ext",
+            "getClientIp", "10.0.0.1",
+            "getContentType", "application/json",
+            "getRawQueryString", "a=1" );
+
+    private static final Map< String, String > HEADERS = Map.of(
+            "Content-Length", "12",
+            "If-Modified-Since", "Sun, 06 Nov 1994 08:49:37 GMT" );
+
+
+    @Test
+    public void testTypedParameters() {
+        final Request request = request( Map.of( "age", "42", "price", "9.5", "active", "true", "empty", "" ) );
+
+        assertEquals( 42, request.getInt( "age", 0 ) );
+        assertEquals( 7, request.getInt( "empty", 7 ) );
+        assertEquals( 42L, request.getOptionalLong( "age" ).getAsLong() );
+        assertEquals( 9.5, request.getOptionalDouble( "price" ).getAsDouble(), 0 );
+        assertTrue( request.getOptionalBoolean( "active" ).get() );
+        assertFalse( request.getOptionalInt( "missing" ).isPresent() );
+    }
+
+
+    @Test
+    public void testBind() {
+        final Person person = request( Map.of( "name", "Zoé", "age", "42" ) ).bind( Person.class );
+
+        assertEquals( "Zoé", person.name() );
+        assertEquals( 42, person.age() );
+    }
+
+
+    @Test
+    public void testHeaders() {
+        final Request request = request( Map.of() );
+
+        assertEquals( List.of( "12" ), request.getHeaders( "Content-Length" ) );
+        assertEquals( Long.valueOf( 12 ), request.getLongHeader( "Content-Length" ) );
+        assertEquals( Instant.parse( "1994-11-06T08:49:37Z" ), request.getDateHeader( "If-Modified-Since" ) );
+        assertTrue( request.getHeaders( "Missing" ).isEmpty() );
+        assertNull( request.getLongHeader( "Missing" ) );
+    }
+
+
+    @Test
+    public void testCookies() {
+        final Request request = request( Map.of() );
+
+        assertEquals( "abc", request.getCookie( "session" ).getValue() );
+        assertEquals( "fr", request.getCookieValue( "lang" ) );
+        assertNull( request.getCookie( "missing" ) );
+        assertNull( request.getCookieValue( "missing" ) );
+    }
+
+
+    @Test
+    public void testQueryStrings() {
+        final Request request = request( Map.of() );
+
+        assertEquals( List.of( "2" ), request.getQueryStrings( "page" ) );
+        assertTrue( request.getQueryStrings( "missing" ).isEmpty() );
+    }
+
+
+    @Test
+    public void testMetadata() {
+        final RequestMetadata metadata = request( Map.of() ).getMetadata();
+
+        assertEquals( "POST", metadata.getMethod() );
+        assertEquals( "/api", metadata.getUri() );
+        assertEquals( "a=1", metadata.getRawQueryString() );
+    }
+
+
+    /**
+     * @return Request implementing only the original methods, every default method runs its own body
+     */
+    private static Request request( final Map< String, Object > parameters ) {
+        final Map< String, Object > values = new HashMap<>( parameters );
+
+        final InvocationHandler handler = ( proxy, method, args ) -> {
+            if ( method.isDefault() ) {
+                return InvocationHandler.invokeDefault( proxy, method, args );
+            }
+
+            if ( method.getName().equals( "getParameter" ) && args.length == 1 ) {
+                return values.get( args[ 0 ] );
+            }
+
+            if ( method.getName().equals( "getAllParameters" ) && args == null ) {
+                return values;
+            }
+
+            if ( method.getName().equals( "getHeader" ) ) {
+                return HEADERS.get( args[ 0 ] );
+            }
+
+            if ( method.getName().equals( "getCookies" ) ) {
+                return new Cookie[]{ new Cookie( "session", "abc" ), new Cookie( "lang", "fr" ) };
+            }
+
+            if ( method.getName().equals( "getQueryString" ) ) {
+                return "page".equals( args[ 0 ] ) ? "2" : null;
+            }
+
+            if ( REQUEST_LINE.containsKey( method.getName() ) ) {
+                return REQUEST_LINE.get( method.getName() );
+            }
+
+            throw new UnsupportedOperationException( method.getName() );
+        };
+
+        return ( Request ) Proxy.newProxyInstance( Request.class.getClassLoader(), new Class< ? >[]{ Request.class }, handler );
+    }
+
+
+    public record Person( String name, int age ) {
+    }
+}
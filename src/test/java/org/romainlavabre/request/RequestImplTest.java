@@ -0,0 +1,64 @@
+package org.romainlavabre.request;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class RequestImplTest {
+
+    @Test
+    public void testBodyIsParsedWithoutMetadata() throws IOException {
+        final RequestImpl request = new RequestImpl( request( "POST", "{\"name\":\"value\"}" ), new RequestConfiguration(), DefaultObjectMapperProvider.getDefault() );
+
+        try {
+            assertEquals( "value", request.getParameter( "name" ) );
+        } finally {
+            request.destroy();
+        }
+    }
+
+
+    @Test
+    public void testLazyBodyIsParsedWithoutMetadata() throws IOException {
+        final RequestImpl request = new RequestImpl( request( "GET", null ), new RequestConfiguration().setLazyBody( true ), DefaultObjectMapperProvider.getDefault() );
+
+        try {
+            assertNull( request.getParameter( "name" ) );
+            assertEquals( "", request.getBody() );
+        } finally {
+            request.destroy();
+        }
+    }
+
+
+    /**
+     * @param body Null for a request without Content-Length
+     * @return Request failing on the data only needed by {@link RequestImpl#getMetadata()}
+     */
+    private static MockHttpServletRequest request( final String method, final String body ) {
+        final MockHttpServletRequest request = new MockHttpServletRequest( method, "/" ) {
+            @Override
+            public String getRemoteHost() {
+                throw new AssertionError( "Reverse lookup of the client" );
+            }
+
+
+            @Override
+            public StringBuffer getRequestURL() {
+                throw new AssertionError( "Request URL built" );
+            }
+        };
+
+        request.setContentType( "application/json" );
+
+        if ( body != null ) {
+            request.setContent( body.getBytes( StandardCharsets.UTF_8 ) );
+        }
+
+        return request;
+    }
+}